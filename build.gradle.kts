@@ -44,6 +44,7 @@ dependencies {
     }
     compileOnly("org.springframework.boot:spring-boot-starter-data-jpa")
     compileOnly("org.springframework.boot:spring-boot-starter-validation")
+    compileOnly("com.fasterxml.jackson.core:jackson-databind")
 
     //DTO Mapping
     implementation("org.mapstruct:mapstruct:1.3.1.Final")
@@ -53,6 +54,11 @@ dependencies {
     implementation("com.github.spullara.mustache.java:compiler:0.9.7")
     annotationProcessor("com.google.auto.service:auto-service:1.0-rc7")
     compileOnly("com.google.auto.service:auto-service:1.0-rc7")
+
+    testImplementation("org.springframework.boot:spring-boot-starter-test")
+    testImplementation("org.springframework.boot:spring-boot-starter-web")
+    testImplementation("org.springframework.boot:spring-boot-starter-data-jpa")
+    testImplementation("com.fasterxml.jackson.core:jackson-databind")
 }
 
 
@@ -72,6 +78,9 @@ tasks {
     "build" {
         dependsOn("fatJar")
     }
+    withType<Test> {
+        useJUnitPlatform()
+    }
 }
 
 publishing {
@@ -4,6 +4,8 @@ import lombok.Data;
 
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.List;
 
 @Data
 public final class EntityScope {
@@ -14,6 +16,13 @@ public final class EntityScope {
     private String entity;
     private String entityName;
     private String path;
+    private List<SearchableFieldScope> searchableFields = Collections.emptyList();
+    private List<JsonFieldScope> jsonFields = Collections.emptyList();
+    /**
+     * Warmup criteria as java string literals
+     */
+    private List<String> warmupCriteria = Collections.emptyList();
+    private boolean cacheable;
 
     EntityScope(String packageName, String sourceClassName, String path) {
         this.date = ZonedDateTime.now();
@@ -35,6 +44,17 @@ public final class EntityScope {
         return date.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
     }
 
+    /**
+     * Entity without {@link SearchableField} annotations could be searched by any field
+     */
+    public boolean isRestricted() {
+        return !searchableFields.isEmpty();
+    }
+
+    public String getQueryCacheRegion() {
+        return getSourceClassNameWithPackage() + ".search";
+    }
+
     public String getEntityDto() {
         return entityName + "Dto";
     }
@@ -63,6 +83,10 @@ public final class EntityScope {
         return packageName + "." + getEntityDto();
     }
 
+    public String getEntityDtoJsonWriterClassNameWithPackage() {
+        return getEntityDtoClassNameWithPackage() + "JsonWriter";
+    }
+
     public String getEntityServiceClassNameWithPackage() {
         return packageName + "." + getEntityService();
     }
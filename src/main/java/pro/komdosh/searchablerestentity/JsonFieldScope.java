@@ -0,0 +1,77 @@
+package pro.komdosh.searchablerestentity;
+
+import lombok.Data;
+
+/**
+ * Template model of a single dto property written by generated json writer.
+ */
+@Data
+public final class JsonFieldScope {
+
+    private final String jsonName;
+    private final String getter;
+    /**
+     * Boxed type for local variable, used by {@link Kind#BOXED} fields.
+     */
+    private final String type;
+    private final Kind kind;
+
+    public boolean isNumber() {
+        return kind == Kind.NUMBER;
+    }
+
+    public boolean isBool() {
+        return kind == Kind.BOOLEAN;
+    }
+
+    public boolean isString() {
+        return kind == Kind.STRING;
+    }
+
+    public boolean isBoxedNumber() {
+        return kind == Kind.BOXED && !"java.lang.Boolean".equals(type);
+    }
+
+    public boolean isBoxedBoolean() {
+        return kind == Kind.BOXED && "java.lang.Boolean".equals(type);
+    }
+
+    public boolean isAssociation() {
+        return kind == Kind.ASSOCIATION;
+    }
+
+    public boolean isObject() {
+        return kind == Kind.OBJECT;
+    }
+
+    /**
+     * @return property is written by Jackson serializer resolved for the property
+     */
+    public boolean isDelegated() {
+        return kind == Kind.ASSOCIATION || kind == Kind.OBJECT;
+    }
+
+    enum Kind {
+        /**
+         * Primitive number, written without boxing
+         */
+        NUMBER,
+        /**
+         * Primitive boolean
+         */
+        BOOLEAN,
+        STRING,
+        /**
+         * Boxed number or boolean, written as null when absent
+         */
+        BOXED,
+        /**
+         * JPA association, written only when initialized to avoid lazy loading
+         */
+        ASSOCIATION,
+        /**
+         * Any other type, written by Jackson serializer for its type
+         */
+        OBJECT
+    }
+}
@@ -0,0 +1,213 @@
+package pro.komdosh.searchablerestentity;
+
+import javax.lang.model.element.*;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import java.util.*;
+
+/**
+ * Reads JPA and hibernate annotations by mirrors, since persistence api is not on processor classpath.
+ * Names are resolved the same way as Spring Boot physical naming strategy does: camelCase to snake_case.
+ */
+final class PersistenceAnnotations {
+
+    static final String TABLE = "javax.persistence.Table";
+    static final String COLUMN = "javax.persistence.Column";
+    static final String HIBERNATE_TYPE = "org.hibernate.annotations.Type";
+    static final String ID = "javax.persistence.Id";
+    static final String EMBEDDED_ID = "javax.persistence.EmbeddedId";
+    static final String NATURAL_ID = "org.hibernate.annotations.NaturalId";
+    static final String CACHEABLE = "javax.persistence.Cacheable";
+    static final String HIBERNATE_CACHE = "org.hibernate.annotations.Cache";
+    static final String JACKSON_PACKAGE = "com.fasterxml.jackson.";
+    static final String LOMBOK_GETTER = "lombok.Getter";
+    static final List<String> LOMBOK_GETTER_TYPES = Arrays.asList(LOMBOK_GETTER, "lombok.Data", "lombok.Value");
+    static final List<String> ASSOCIATIONS = Arrays.asList(
+        "javax.persistence.ManyToOne",
+        "javax.persistence.OneToOne",
+        "javax.persistence.OneToMany",
+        "javax.persistence.ManyToMany",
+        "javax.persistence.ElementCollection"
+    );
+
+    private PersistenceAnnotations() {
+    }
+
+    static Optional<? extends AnnotationMirror> find(Element element, String annotationName) {
+        return element.getAnnotationMirrors().stream()
+            .filter(mirror -> ((TypeElement) mirror.getAnnotationType().asElement())
+                .getQualifiedName().contentEquals(annotationName))
+            .findFirst();
+    }
+
+    static Optional<AnnotationValue> value(AnnotationMirror mirror, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return Optional.of(entry.getValue());
+            }
+        }
+        return Optional.empty();
+    }
+
+    static String stringValue(Element element, String annotationName, String name) {
+        return find(element, annotationName)
+            .flatMap(mirror -> value(mirror, name))
+            .map(value -> value.getValue().toString())
+            .orElse("");
+    }
+
+    /**
+     * @return declared and inherited fields including private ones, i.e. id of mapped superclass
+     */
+    static List<VariableElement> fields(TypeElement entity) {
+        final List<VariableElement> fields = new ArrayList<>();
+        for (TypeElement superType : hierarchy(entity)) {
+            fields.addAll(ElementFilter.fieldsIn(superType.getEnclosedElements()));
+        }
+        return fields;
+    }
+
+    /**
+     * @return methods declared in entity and its superclasses, subclass first, so overriding method goes before overridden
+     */
+    static List<ExecutableElement> methods(TypeElement entity) {
+        final List<ExecutableElement> methods = new ArrayList<>();
+        final Iterator<TypeElement> types = hierarchy(entity).descendingIterator();
+        while (types.hasNext()) {
+            methods.addAll(ElementFilter.methodsIn(types.next().getEnclosedElements()));
+        }
+        return methods;
+    }
+
+    /**
+     * @return entity and its superclasses without Object, superclass first
+     */
+    static Deque<TypeElement> hierarchy(TypeElement entity) {
+        final Deque<TypeElement> hierarchy = new ArrayDeque<>();
+        TypeElement type = entity;
+        while (type != null && !type.getQualifiedName().contentEquals(Object.class.getName())) {
+            hierarchy.push(type);
+            final TypeMirror superclass = type.getSuperclass();
+            type = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+        return hierarchy;
+    }
+
+    static Optional<VariableElement> findField(TypeElement entity, String name) {
+        return fields(entity).stream()
+            .filter(field -> field.getSimpleName().contentEquals(name))
+            .findFirst();
+    }
+
+    /**
+     * Field is indexed when it is identifier, unique column
+     * or the leading column of any index or unique constraint declared in <i>@Table</i>.
+     * Both sides are compared in snake_case, since Spring naming strategy converts index columns as well.
+     */
+    static boolean isIndexed(TypeElement entity, VariableElement field) {
+        if (find(field, ID).isPresent() || find(field, EMBEDDED_ID).isPresent() || find(field, NATURAL_ID).isPresent()) {
+            return true;
+        }
+        if ("true".equals(stringValue(field, COLUMN, "unique"))) {
+            return true;
+        }
+        final String column = toSnakeCase(columnName(field));
+        return leadingIndexColumns(entity).contains(column);
+    }
+
+    private static Set<String> leadingIndexColumns(TypeElement entity) {
+        final Set<String> columns = new HashSet<>();
+        find(entity, TABLE).ifPresent(table -> {
+            for (AnnotationMirror index : annotationList(table, "indexes")) {
+                value(index, "columnList").ifPresent(columnList ->
+                    columns.add(toSnakeCase(columnList.getValue().toString().split(",")[0].trim().split("\\s+")[0])));
+            }
+            for (AnnotationMirror constraint : annotationList(table, "uniqueConstraints")) {
+                value(constraint, "columnNames").ifPresent(columnNames -> {
+                    final List<?> names = (List<?>) columnNames.getValue();
+                    if (!names.isEmpty()) {
+                        columns.add(toSnakeCase(((AnnotationValue) names.get(0)).getValue().toString()));
+                    }
+                });
+            }
+        });
+        return columns;
+    }
+
+    private static List<AnnotationMirror> annotationList(AnnotationMirror mirror, String name) {
+        final List<AnnotationMirror> annotations = new ArrayList<>();
+        value(mirror, name).ifPresent(value -> {
+            for (Object item : (List<?>) value.getValue()) {
+                annotations.add((AnnotationMirror) ((AnnotationValue) item).getValue());
+            }
+        });
+        return annotations;
+    }
+
+    static boolean isAssociation(Element element) {
+        return ASSOCIATIONS.stream().anyMatch(association -> find(element, association).isPresent());
+    }
+
+    /**
+     * Field has public getter generated by Lombok, when it has public <i>@Getter</i>,
+     * or its class has <i>@Getter</i>, <i>@Data</i> or <i>@Value</i> and the field does not limit getter access.
+     */
+    static boolean hasLombokGetter(VariableElement field) {
+        if (find(field, LOMBOK_GETTER).isPresent()) {
+            return isPublicLombokGetter(field);
+        }
+        final Element owner = field.getEnclosingElement();
+        if (!field.getSimpleName().toString().startsWith("$")
+            && LOMBOK_GETTER_TYPES.stream().anyMatch(annotation -> find(owner, annotation).isPresent())) {
+            return !find(owner, LOMBOK_GETTER).isPresent() || isPublicLombokGetter(owner);
+        }
+        return false;
+    }
+
+    private static boolean isPublicLombokGetter(Element element) {
+        final String accessLevel = stringValue(element, LOMBOK_GETTER, "value");
+        return accessLevel.isEmpty() || "PUBLIC".equals(accessLevel);
+    }
+
+    /**
+     * @return first annotation of element from the package, i.e. {@value #JACKSON_PACKAGE}
+     */
+    static Optional<? extends AnnotationMirror> findFromPackage(Element element, String packagePrefix) {
+        return element.getAnnotationMirrors().stream()
+            .filter(mirror -> ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString()
+                .startsWith(packagePrefix))
+            .findFirst();
+    }
+
+    static String tableName(TypeElement entity) {
+        final String name = stringValue(entity, TABLE, "name");
+        return name.isEmpty() ? toSnakeCase(entity.getSimpleName().toString()) : name;
+    }
+
+    static String columnName(VariableElement field) {
+        final String name = stringValue(field, COLUMN, "name");
+        return name.isEmpty() ? toSnakeCase(field.getSimpleName().toString()) : name;
+    }
+
+    /**
+     * Json column is recognized by <i>@Column(columnDefinition = "jsonb")</i> or <i>@Type(type = "json")</i>.
+     */
+    static boolean isJsonColumn(VariableElement field) {
+        return stringValue(field, COLUMN, "columnDefinition").toLowerCase(Locale.ROOT).contains("json")
+            || stringValue(field, HIBERNATE_TYPE, "type").toLowerCase(Locale.ROOT).contains("json");
+    }
+
+    static String toSnakeCase(String name) {
+        final StringBuilder snakeCase = new StringBuilder(name.length() + 4);
+        for (int i = 0; i < name.length(); i++) {
+            final char c = name.charAt(i);
+            if (i > 0 && Character.isUpperCase(c) && !Character.isUpperCase(name.charAt(i - 1))) {
+                snakeCase.append('_');
+            }
+            snakeCase.append(Character.toLowerCase(c));
+        }
+        return snakeCase.toString();
+    }
+}
@@ -0,0 +1,39 @@
+package pro.komdosh.searchablerestentity;
+
+import pro.komdosh.searchablerestentity.search.SearchOperation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Target;
+
+/**
+ * Allows to search by the entity field. Once any field of {@link SearchableRestEntity} is annotated,
+ * generated controller rejects criteria keys and sort properties which are not annotated.
+ * <p>
+ * Processor checks that the field is covered by index: <code>@Id</code>, <code>@Column(unique = true)</code>
+ * or the leading column of <code>@Table(indexes = ...)</code> or <code>@Table(uniqueConstraints = ...)</code>.
+ * Unindexed fields are reported as warnings, pass <code>-Asearchablerestentity.unindexedFields=error</code>
+ * to javac to fail the build instead.
+ */
+@Documented
+@Target(ElementType.FIELD)
+public @interface SearchableField {
+
+    /**
+     * @return allowed operations, all operations are allowed if empty
+     */
+    SearchOperation[] operations() default {};
+
+    /**
+     * @return value that indicates whether the field could be used in `sort` request parameter
+     */
+    boolean sortable() default true;
+
+    /**
+     * You can allow search by fields of associated entity,
+     * i.e. <code>@SearchableField(paths = "totalScore")</code> on `playerScore` field allows `playerScore.totalScore` key
+     *
+     * @return nested paths of associated entity, the field itself is searchable if empty
+     */
+    String[] paths() default {};
+}
@@ -0,0 +1,16 @@
+package pro.komdosh.searchablerestentity;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Template model of a single {@link SearchableField} key.
+ */
+@Data
+public final class SearchableFieldScope {
+
+    private final String key;
+    private final boolean sortable;
+    private final List<String> operations;
+}
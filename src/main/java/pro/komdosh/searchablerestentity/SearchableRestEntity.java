@@ -29,4 +29,34 @@ public @interface SearchableRestEntity {
      */
     boolean useEntityAsDto() default true;
 
+    /**
+     * Json paths which are expected to be searched with json operations,
+     * i.e. <code>@SearchableRestEntity(jsonPaths = "details->address.city")</code>
+     * Processor emits warning with index definition required for every path.
+     *
+     * @return json paths in criteria key format `{field}->{path}`
+     */
+    String[] jsonPaths() default {};
+
+    /**
+     * Representative search requests replayed by {@link pro.komdosh.searchablerestentity.search.SearchWarmup}
+     * at application startup, before readiness is reported.
+     * Every value is a search request body, i.e.
+     * <code>@SearchableRestEntity(warmupCriteria = "[{\"key\": \"givenName\", \"operation\": \"EQUALS\", \"value\": \"\"}]")</code>
+     *
+     * @return json arrays of {@link pro.komdosh.searchablerestentity.search.SearchCriteria}
+     */
+    String[] warmupCriteria() default {};
+
+    /**
+     * Caches search results in hibernate query cache region `{entityClassName}.search`,
+     * suitable for rarely changed reference data. Entity itself should be cached in second-level cache:
+     * <code>@Cacheable @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)</code>
+     * <p>
+     * Cached results are invalidated by hibernate on every write of the entity table.
+     *
+     * @return value that indicates cache search results or not
+     */
+    boolean cacheable() default false;
+
 }
@@ -2,29 +2,77 @@ package pro.komdosh.searchablerestentity;
 
 import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
+import com.github.mustachejava.MustacheFactory;
 import com.google.auto.service.AutoService;
 
 import javax.annotation.processing.*;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
 import javax.lang.model.element.PackageElement;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
 import javax.tools.Diagnostic;
 import javax.tools.JavaFileObject;
 import java.io.IOException;
 import java.io.Writer;
-import java.util.Set;
+import java.util.*;
+import java.util.stream.Collectors;
 
+import static pro.komdosh.searchablerestentity.search.SearchCriteria.ENTITY_JSON_FIELD_DELIMITER;
+
+/**
+ * Generates search endpoint classes for every {@link SearchableRestEntity}.
+ * <p>
+ * Processor is isolating in terms of Gradle incremental compilation: every generated class
+ * is built only from the annotated entity and types reachable from it, and is attributed to that entity.
+ */
 @AutoService(Processor.class)
 @SupportedSourceVersion(SourceVersion.RELEASE_8)
 @SupportedAnnotationTypes({"pro.komdosh.searchablerestentity.SearchableRestEntity"})
+@SupportedOptions({SearchableRestEntityProcessor.UNINDEXED_FIELDS_OPTION})
 public class SearchableRestEntityProcessor extends AbstractProcessor {
 
+    static final String UNINDEXED_FIELDS_OPTION = "searchablerestentity.unindexedFields";
+
     private static final String CONTROLLER_TEMPLATE = "generation/controller.mustache";
     private static final String REPOSITORY_TEMPLATE = "generation/repository.mustache";
     private static final String DTO_TEMPLATE = "generation/dto.mustache";
     private static final String SERVICE_TEMPLATE = "generation/service.mustache";
     private static final String MAPPER_TEMPLATE = "generation/mapper.mustache";
+    private static final String JSON_WRITER_TEMPLATE = "generation/jsonWriter.mustache";
+
+    private static final Set<String> BOXED_TYPES = new HashSet<>(Arrays.asList(
+        "java.lang.Integer", "java.lang.Long", "java.lang.Short", "java.lang.Double", "java.lang.Float",
+        "java.math.BigDecimal", "java.lang.Boolean"
+    ));
+
+    private Mustache controllerTemplate;
+    private Mustache repositoryTemplate;
+    private Mustache dtoTemplate;
+    private Mustache serviceTemplate;
+    private Mustache mapperTemplate;
+    private Mustache jsonWriterTemplate;
+
+    /**
+     * Templates are compiled once per processor instance and reused for every entity.
+     */
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        MustacheFactory mustacheFactory = new DefaultMustacheFactory();
+        controllerTemplate = mustacheFactory.compile(CONTROLLER_TEMPLATE);
+        repositoryTemplate = mustacheFactory.compile(REPOSITORY_TEMPLATE);
+        dtoTemplate = mustacheFactory.compile(DTO_TEMPLATE);
+        serviceTemplate = mustacheFactory.compile(SERVICE_TEMPLATE);
+        mapperTemplate = mustacheFactory.compile(MAPPER_TEMPLATE);
+        jsonWriterTemplate = mustacheFactory.compile(JSON_WRITER_TEMPLATE);
+    }
 
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
@@ -33,11 +81,22 @@ public class SearchableRestEntityProcessor extends AbstractProcessor {
                 try {
                     String path = "";
                     boolean useEntityAsDto = true;
-                    if (annotation instanceof SearchableRestEntity) {
-                        path = ((SearchableRestEntity) annotation).path();
-                        useEntityAsDto = ((SearchableRestEntity) annotation).useEntityAsDto();
+                    String[] warmupCriteria = {};
+                    boolean cacheable = false;
+                    SearchableRestEntity searchableRestEntity = element.getAnnotation(SearchableRestEntity.class);
+                    if (searchableRestEntity != null) {
+                        path = searchableRestEntity.path();
+                        useEntityAsDto = searchableRestEntity.useEntityAsDto();
+                        warmupCriteria = searchableRestEntity.warmupCriteria();
+                        cacheable = searchableRestEntity.cacheable();
+                        if (isTypeElement(element)) {
+                            checkJsonIndexes((TypeElement) element, searchableRestEntity.jsonPaths());
+                            if (cacheable) {
+                                checkEntityCache((TypeElement) element);
+                            }
+                        }
                     }
-                    processEntity(element, path, useEntityAsDto);
+                    processEntity(element, path, useEntityAsDto, warmupCriteria, cacheable);
                 } catch (IOException e) {
                     error(e);
                 }
@@ -46,17 +105,28 @@ public class SearchableRestEntityProcessor extends AbstractProcessor {
         return true;
     }
 
-    private void processEntity(Element element, String path, boolean useEntityAsDto) throws IOException {
+    private void processEntity(Element element, String path, boolean useEntityAsDto, String[] warmupCriteria,
+                               boolean cacheable) throws IOException {
         if (isTypeElement(element)) {
             TypeElement typeElement = (TypeElement) element;
             EntityScope scope = createModel(typeElement, path);
+            scope.setSearchableFields(collectSearchableFields(typeElement));
+            scope.setWarmupCriteria(Arrays.stream(warmupCriteria)
+                .map(this::toJavaLiteral)
+                .collect(Collectors.toList()));
+            scope.setCacheable(cacheable);
             if (useEntityAsDto) {
-                writeClass(element, scope, new DefaultMustacheFactory().compile(DTO_TEMPLATE), scope.getEntityDtoClassNameWithPackage());
+                writeClass(element, scope, dtoTemplate, scope.getEntityDtoClassNameWithPackage());
+                Optional<List<JsonFieldScope>> jsonFields = collectJsonFields(typeElement);
+                if (jsonFields.isPresent()) {
+                    scope.setJsonFields(jsonFields.get());
+                    writeClass(element, scope, jsonWriterTemplate, scope.getEntityDtoJsonWriterClassNameWithPackage());
+                }
             }
-            writeClass(element, scope, new DefaultMustacheFactory().compile(MAPPER_TEMPLATE), scope.getEntityMapperClassNameWithPackage());
-            writeClass(element, scope, new DefaultMustacheFactory().compile(REPOSITORY_TEMPLATE), scope.getRepositoryClassNameWithPackage());
-            writeClass(element, scope, new DefaultMustacheFactory().compile(SERVICE_TEMPLATE), scope.getEntityServiceClassNameWithPackage());
-            writeClass(element, scope, new DefaultMustacheFactory().compile(CONTROLLER_TEMPLATE), scope.getControllerClassNameWithPackage());
+            writeClass(element, scope, mapperTemplate, scope.getEntityMapperClassNameWithPackage());
+            writeClass(element, scope, repositoryTemplate, scope.getRepositoryClassNameWithPackage());
+            writeClass(element, scope, serviceTemplate, scope.getEntityServiceClassNameWithPackage());
+            writeClass(element, scope, controllerTemplate, scope.getControllerClassNameWithPackage());
         }
     }
 
@@ -68,6 +138,306 @@ public class SearchableRestEntityProcessor extends AbstractProcessor {
         }
     }
 
+    /**
+     * Json operations could not use regular indexes, so every declared json path gets warning
+     * with index definition. Json columns without declared paths are reported as well.
+     */
+    private void checkJsonIndexes(TypeElement entity, String[] jsonPaths) {
+        String table = PersistenceAnnotations.tableName(entity);
+        Set<String> declaredColumns = new HashSet<>();
+        for (String jsonPath : jsonPaths) {
+            int separatorIndex = jsonPath.indexOf(ENTITY_JSON_FIELD_DELIMITER);
+            String fieldName = separatorIndex < 0 ? jsonPath : jsonPath.substring(0, separatorIndex);
+            String path = separatorIndex < 0 ? "" : jsonPath.substring(separatorIndex + ENTITY_JSON_FIELD_DELIMITER.length());
+            Optional<VariableElement> field = PersistenceAnnotations.findField(entity, fieldName);
+            if (!field.isPresent()) {
+                warning(entity, String.format("Json path %s refers to unknown field %s of %s",
+                    jsonPath, fieldName, entity.getSimpleName()));
+                continue;
+            }
+            String column = PersistenceAnnotations.columnName(field.get());
+            declaredColumns.add(fieldName);
+            warning(field.get(), String.format("Json path %s needs indexes to avoid full table scan. "
+                    + "JSON_CONTAINS: PostgreSQL: CREATE INDEX ON %s USING gin (%s jsonb_path_ops); "
+                    + "MySQL: CREATE INDEX %s_%s ON %s ((CAST(json_extract(%s, '$.%s') AS CHAR(255) ARRAY))). "
+                    + "JSON_LIKE: PostgreSQL: CREATE INDEX ON %s USING gin (lower(%s #>> '{%s}') gin_trgm_ops) "
+                    + "with pg_trgm extension; MySQL: no index could serve it, JSON_LIKE stays a table scan",
+                jsonPath, table, column, table, path.replace('.', '_'), table, column, path,
+                table, column, path.replace('.', ',')));
+        }
+        for (VariableElement field : PersistenceAnnotations.fields(entity)) {
+            if (PersistenceAnnotations.isJsonColumn(field) && !declaredColumns.contains(field.getSimpleName().toString())) {
+                String column = PersistenceAnnotations.columnName(field);
+                warning(field, String.format("Json column %s.%s has no declared json paths, json operations on it "
+                        + "need indexes to avoid full table scan. "
+                        + "JSON_CONTAINS: PostgreSQL: CREATE INDEX ON %s USING gin (%s jsonb_path_ops). "
+                        + "JSON_ARRAY_CONTAINS_ANY_IGNORE_CASE: PostgreSQL: CREATE INDEX ON %s USING gin ((lower(%s::text)::jsonb) jsonb_path_ops); "
+                        + "MySQL: CREATE INDEX %s_%s ON %s ((CAST(json_extract(lower(%s), '$') AS CHAR(255) ARRAY))). "
+                        + "JSON_LIKE needs index per json path, declare them in jsonPaths",
+                    table, column, table, column, table, column, table, column, table, column));
+            }
+        }
+    }
+
+    /**
+     * Query cache keeps only identifiers of found entities, so without entity cache
+     * every cached search loads its entities one by one.
+     * Caffeine configures only caches named in its config, so regions to list are printed as well.
+     */
+    private void checkEntityCache(TypeElement entity) {
+        String entityRegion = entity.getQualifiedName().toString();
+        if (!PersistenceAnnotations.find(entity, PersistenceAnnotations.CACHEABLE).isPresent()
+            && !PersistenceAnnotations.find(entity, PersistenceAnnotations.HIBERNATE_CACHE).isPresent()) {
+            warning(entity, String.format("Search results of %s are cached, but the entity is not: "
+                    + "annotate it with @Cacheable and @Cache(usage = CacheConcurrencyStrategy.READ_WRITE) "
+                    + "to avoid loading every found entity by separate query",
+                entity.getSimpleName()));
+        } else {
+            String region = PersistenceAnnotations.stringValue(entity, PersistenceAnnotations.HIBERNATE_CACHE, "region");
+            if (!region.isEmpty()) {
+                entityRegion = region;
+            }
+        }
+        note(entity, String.format("Cache regions of %s are configured only when listed in caffeine.jcache: "
+                + "\"%s\" = ${searchable-rest-entity.cache-region}, "
+                + "\"%s.search\" = ${searchable-rest-entity.cache-region}",
+            entity.getSimpleName(), entityRegion, entity.getQualifiedName()));
+    }
+
+    /**
+     * Collects {@link SearchableField} keys and checks that every key is served by index,
+     * since search or sort by unindexed column scans the whole table.
+     */
+    private List<SearchableFieldScope> collectSearchableFields(TypeElement entity) {
+        List<SearchableFieldScope> searchableFields = new ArrayList<>();
+        for (VariableElement field : PersistenceAnnotations.fields(entity)) {
+            SearchableField searchableField = field.getAnnotation(SearchableField.class);
+            if (searchableField == null) {
+                continue;
+            }
+            List<String> operations = Arrays.stream(searchableField.operations())
+                .map(Enum::name)
+                .collect(Collectors.toList());
+            String name = getSimpleNameAsString(field);
+            if (searchableField.paths().length == 0) {
+                if (!PersistenceAnnotations.isJsonColumn(field)) {
+                    checkIndexed(entity, field, name, searchableField.sortable());
+                }
+                searchableFields.add(new SearchableFieldScope(name, searchableField.sortable(), operations));
+            }
+            for (String path : searchableField.paths()) {
+                String key = name + "." + path;
+                checkNestedIndexed(field, key, path, searchableField.sortable());
+                searchableFields.add(new SearchableFieldScope(key, searchableField.sortable(), operations));
+            }
+        }
+        return searchableFields;
+    }
+
+    private void checkNestedIndexed(VariableElement field, String key, String path, boolean sortable) {
+        String[] segments = path.split("\\.");
+        TypeElement owner = null;
+        VariableElement current = field;
+        for (String segment : segments) {
+            Optional<TypeElement> associatedEntity = getAssociatedEntity(current);
+            if (!associatedEntity.isPresent()) {
+                error(field, String.format("Searchable key %s could not be resolved: %s is not an association",
+                    key, current.getSimpleName()));
+                return;
+            }
+            owner = associatedEntity.get();
+            Optional<VariableElement> next = PersistenceAnnotations.findField(owner, segment);
+            if (!next.isPresent()) {
+                error(field, String.format("Searchable key %s could not be resolved: %s has no field %s",
+                    key, owner.getSimpleName(), segment));
+                return;
+            }
+            current = next.get();
+        }
+        if (segments.length > 1) {
+            warning(field, String.format("Searchable key %s joins %d tables per request", key, segments.length + 1));
+        }
+        checkIndexed(owner, current, key, sortable);
+    }
+
+    private void checkIndexed(TypeElement owner, VariableElement field, String key, boolean sortable) {
+        if (!PersistenceAnnotations.isIndexed(owner, field)) {
+            report(field, String.format("Searchable key %s is not covered by any index of %s table, "
+                    + "search%s by it scans the whole table",
+                key, PersistenceAnnotations.tableName(owner), sortable ? " and sort" : ""));
+        }
+    }
+
+    /**
+     * @return field type, or element type of collection association
+     */
+    private Optional<TypeElement> getAssociatedEntity(VariableElement field) {
+        TypeMirror type = field.asType();
+        if (type.getKind() != TypeKind.DECLARED) {
+            return Optional.empty();
+        }
+        DeclaredType declaredType = (DeclaredType) type;
+        List<? extends TypeMirror> typeArguments = declaredType.getTypeArguments();
+        if (!typeArguments.isEmpty()) {
+            TypeMirror elementType = typeArguments.get(typeArguments.size() - 1);
+            if (elementType.getKind() != TypeKind.DECLARED) {
+                return Optional.empty();
+            }
+            declaredType = (DeclaredType) elementType;
+        }
+        return Optional.of((TypeElement) declaredType.asElement());
+    }
+
+    /**
+     * Collects dto properties written by generated json writer the same way Jackson detects them:
+     * public getters declared in the dto hierarchy or generated by Lombok, named by Jackson default naming.
+     * Dto with any Jackson annotation gets no writer and keeps Jackson bean serializer.
+     */
+    private Optional<List<JsonFieldScope>> collectJsonFields(TypeElement dto) {
+        Optional<Element> annotated = findJacksonAnnotated(dto);
+        if (annotated.isPresent()) {
+            note(annotated.get(), String.format("%s uses Jackson annotations, it is written by Jackson bean serializer "
+                + "instead of generated json writer", dto.getSimpleName()));
+            return Optional.empty();
+        }
+        DeclaredType dtoType = (DeclaredType) dto.asType();
+        Map<String, JsonFieldScope> jsonFields = new LinkedHashMap<>();
+        for (ExecutableElement method : PersistenceAnnotations.methods(dto)) {
+            Set<Modifier> modifiers = method.getModifiers();
+            if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.STATIC)
+                || !method.getParameters().isEmpty() || !method.getTypeParameters().isEmpty()) {
+                continue;
+            }
+            TypeMirror type = ((ExecutableType) processingEnv.getTypeUtils().asMemberOf(dtoType, method)).getReturnType();
+            addJsonField(jsonFields, dto, method, getSimpleNameAsString(method), type);
+        }
+        // Lombok may generate getters after this processor runs, so they are derived from its annotations as well
+        for (VariableElement field : PersistenceAnnotations.fields(dto)) {
+            if (!field.getModifiers().contains(Modifier.STATIC) && PersistenceAnnotations.hasLombokGetter(field)) {
+                TypeMirror type = processingEnv.getTypeUtils().asMemberOf(dtoType, field);
+                addJsonField(jsonFields, dto, field, getLombokGetterName(field, type), type);
+            }
+        }
+        if (jsonFields.isEmpty()) {
+            note(dto, String.format("%s has no getters, it is written by Jackson bean serializer "
+                + "instead of generated json writer", dto.getSimpleName()));
+            return Optional.empty();
+        }
+        return Optional.of(new ArrayList<>(jsonFields.values()));
+    }
+
+    private Optional<Element> findJacksonAnnotated(TypeElement dto) {
+        List<Element> elements = new ArrayList<>(PersistenceAnnotations.hierarchy(dto));
+        elements.addAll(PersistenceAnnotations.fields(dto));
+        elements.addAll(PersistenceAnnotations.methods(dto));
+        return elements.stream()
+            .filter(element -> PersistenceAnnotations.findFromPackage(element, PersistenceAnnotations.JACKSON_PACKAGE).isPresent())
+            .findFirst();
+    }
+
+    private void addJsonField(Map<String, JsonFieldScope> jsonFields, TypeElement dto, Element accessor,
+                              String getter, TypeMirror type) {
+        Optional<String> jsonName = getPropertyName(getter, type);
+        if (!jsonName.isPresent() || jsonFields.containsKey(jsonName.get())) {
+            return;
+        }
+        boolean association = PersistenceAnnotations.isAssociation(accessor)
+            || PersistenceAnnotations.findField(dto, jsonName.get()).map(PersistenceAnnotations::isAssociation).orElse(false);
+        String typeName = type.getKind() == TypeKind.DECLARED
+            ? ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString()
+            : type.toString();
+        jsonFields.put(jsonName.get(), new JsonFieldScope(jsonName.get(), getter, typeName,
+            getJsonFieldKind(type, typeName, association)));
+    }
+
+    /**
+     * @return getter name generated by Lombok: <i>isX</i> for boolean, dropping <i>is</i> prefix of the field, <i>getX</i> otherwise
+     */
+    private String getLombokGetterName(VariableElement field, TypeMirror type) {
+        String name = getSimpleNameAsString(field);
+        if (type.getKind() == TypeKind.BOOLEAN) {
+            if (name.startsWith("is") && name.length() > 2 && Character.isUpperCase(name.charAt(2))) {
+                return name;
+            }
+            return "is" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        }
+        return "get" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /**
+     * @return property name of getter, <i>getX</i> or <i>isX</i> for boolean,
+     * with leading upper case letters lower cased as Jackson does by default
+     */
+    private Optional<String> getPropertyName(String name, TypeMirror type) {
+        if (type.getKind() == TypeKind.VOID) {
+            return Optional.empty();
+        }
+        String property;
+        if (name.startsWith("get") && name.length() > 3 && !"getClass".equals(name)) {
+            property = name.substring(3);
+        } else if (name.startsWith("is") && name.length() > 2 && type.getKind() == TypeKind.BOOLEAN) {
+            property = name.substring(2);
+        } else {
+            return Optional.empty();
+        }
+        StringBuilder jsonName = new StringBuilder(property.length());
+        int i = 0;
+        while (i < property.length() && Character.isUpperCase(property.charAt(i))) {
+            jsonName.append(Character.toLowerCase(property.charAt(i++)));
+        }
+        return Optional.of(jsonName.append(property, i, property.length()).toString());
+    }
+
+    private JsonFieldScope.Kind getJsonFieldKind(TypeMirror type, String typeName, boolean association) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return JsonFieldScope.Kind.BOOLEAN;
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
+                return JsonFieldScope.Kind.NUMBER;
+            case DECLARED:
+                if (association) {
+                    return JsonFieldScope.Kind.ASSOCIATION;
+                }
+                if (String.class.getName().equals(typeName)) {
+                    return JsonFieldScope.Kind.STRING;
+                }
+                if (BOXED_TYPES.contains(typeName)) {
+                    return JsonFieldScope.Kind.BOXED;
+                }
+                return JsonFieldScope.Kind.OBJECT;
+            default:
+                return JsonFieldScope.Kind.OBJECT;
+        }
+    }
+
+    private String toJavaLiteral(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    literal.append("\\\"");
+                    break;
+                case '\\':
+                    literal.append("\\\\");
+                    break;
+                case '\n':
+                    literal.append("\\n");
+                    break;
+                case '\r':
+                    literal.append("\\r");
+                    break;
+                default:
+                    literal.append(c);
+            }
+        }
+        return literal.append('"').toString();
+    }
+
     private EntityScope createModel(TypeElement element, String path) {
         String packageName = getPackageName(element);
         String sourceClassName = getSimpleNameAsString(element);
@@ -87,6 +457,31 @@ public class SearchableRestEntityProcessor extends AbstractProcessor {
         return element instanceof TypeElement;
     }
 
+    /**
+     * Reports unindexed searchable field with severity set by {@value #UNINDEXED_FIELDS_OPTION} option.
+     */
+    private void report(Element element, String message) {
+        Diagnostic.Kind kind = "error".equalsIgnoreCase(processingEnv.getOptions().get(UNINDEXED_FIELDS_OPTION))
+            ? Diagnostic.Kind.ERROR
+            : Diagnostic.Kind.WARNING;
+        processingEnv.getMessager().printMessage(kind, message, element);
+    }
+
+    private void warning(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, message, element);
+    }
+
+    private void note(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, message, element);
+    }
+
+    /**
+     * Reports declaration that would fail every request at runtime, regardless of {@value #UNINDEXED_FIELDS_OPTION}.
+     */
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
     private void error(IOException e) {
         processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "failed to write extension file: " + e.getMessage());
     }
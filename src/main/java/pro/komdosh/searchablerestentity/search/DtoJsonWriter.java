@@ -0,0 +1,107 @@
+package pro.komdosh.searchablerestentity.search;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Base of generated <i>{entityName}DtoJsonWriter</i>, which writes dto without reflection.
+ * <p>
+ * Writer bean is a template: {@link JsonWriterModule} binds it to the bean serializer built by the object mapper,
+ * see {@link JsonWriterContext}. Bound writer delegates type info and property context to the bean serializer.
+ *
+ * @param <T> Dto type
+ */
+public abstract class DtoJsonWriter<T> extends StdSerializer<T> implements ResolvableSerializer, ContextualSerializer {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String[] properties;
+    private final JsonSerializer<Object> beanSerializer;
+    private final transient JsonWriterContext context;
+    private boolean standardScalarSerializers = true;
+
+    protected DtoJsonWriter(Class<T> type, String[] properties) {
+        super(type);
+        this.properties = properties;
+        this.beanSerializer = null;
+        this.context = null;
+    }
+
+    protected DtoJsonWriter(DtoJsonWriter<T> writer, JsonWriterContext context) {
+        super(writer.handledType());
+        this.properties = writer.properties;
+        this.beanSerializer = context.getBeanSerializer();
+        this.context = context;
+    }
+
+    /**
+     * @return writer bound to the bean serializer of the context
+     */
+    protected abstract DtoJsonWriter<T> bind(JsonWriterContext context);
+
+    /**
+     * Writes dto object, called on bound writer only.
+     */
+    protected abstract void write(T value, JsonGenerator gen, SerializerProvider provider) throws IOException;
+
+    String[] getProperties() {
+        return properties;
+    }
+
+    @Override
+    public void resolve(SerializerProvider provider) throws JsonMappingException {
+        if (beanSerializer instanceof ResolvableSerializer) {
+            ((ResolvableSerializer) beanSerializer).resolve(provider);
+        }
+        if (context != null) {
+            standardScalarSerializers = context.usesStandardScalarSerializers(provider);
+        }
+    }
+
+    /**
+     * Property settings that change the bean serializer, i.e. ignored properties of the referencing property,
+     * and custom serializers of scalar types are written by the bean serializer.
+     */
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) throws JsonMappingException {
+        if (beanSerializer == null) {
+            return this;
+        }
+        if (!standardScalarSerializers) {
+            return provider.handleSecondaryContextualization(beanSerializer, property);
+        }
+        if (!(beanSerializer instanceof ContextualSerializer)) {
+            return this;
+        }
+        final JsonSerializer<?> contextual = ((ContextualSerializer) beanSerializer).createContextual(provider, property);
+        return contextual == beanSerializer ? this : contextual;
+    }
+
+    @Override
+    public final void serialize(T value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (beanSerializer == null) {
+            provider.findValueSerializer(handledType()).serialize(value, gen, provider);
+            return;
+        }
+        write(value, gen, provider);
+    }
+
+    @Override
+    public void serializeWithType(T value, JsonGenerator gen, SerializerProvider provider, TypeSerializer typeSer)
+        throws IOException {
+        if (beanSerializer == null) {
+            provider.findValueSerializer(handledType()).serializeWithType(value, gen, provider, typeSer);
+            return;
+        }
+        beanSerializer.serializeWithType(value, gen, provider, typeSer);
+    }
+}
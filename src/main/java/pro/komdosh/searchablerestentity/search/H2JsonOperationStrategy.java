@@ -0,0 +1,55 @@
+package pro.komdosh.searchablerestentity.search;
+
+import javax.annotation.Nonnull;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * H2 strategy for tests. H2 could not navigate json documents, so json column is matched as text,
+ * serialized without whitespaces (Jackson default). Only the last property of json path is checked.
+ */
+public class H2JsonOperationStrategy implements JsonOperationStrategy {
+
+    @Nonnull
+    @Override
+    public Predicate like(@Nonnull CriteriaBuilder builder, @Nonnull Expression<?> column,
+                          @Nonnull List<String> jsonPath, @Nonnull String value) {
+        return builder.like(
+            builder.lower(column.as(String.class)),
+            "%" + JsonLiterals.quote(lastProperty(jsonPath).toLowerCase(Locale.ROOT)) + ":\"%" + value.toLowerCase(Locale.ROOT) + "%"
+        );
+    }
+
+    @Nonnull
+    @Override
+    public Predicate contains(@Nonnull CriteriaBuilder builder, @Nonnull Expression<?> column,
+                              @Nonnull List<String> jsonPath, @Nonnull Object value) {
+        final String property = JsonLiterals.quote(lastProperty(jsonPath));
+        final String jsonValue = JsonLiterals.scalar(value);
+        final Expression<String> text = column.as(String.class);
+        return builder.or(
+            builder.like(text, "%" + property + ":" + jsonValue + "%"),
+            builder.like(text, "%" + property + ":[%" + jsonValue + "%]%")
+        );
+    }
+
+    @Nonnull
+    @Override
+    public Predicate arrayContainsAnyIgnoreCase(@Nonnull CriteriaBuilder builder, @Nonnull Expression<?> column,
+                                                @Nonnull List<?> values) {
+        final Expression<String> text = builder.lower(column.as(String.class));
+        final Predicate[] predicates = new Predicate[values.size()];
+        for (int i = 0; i < values.size(); i++) {
+            final String value = String.valueOf(values.get(i)).toLowerCase(Locale.ROOT);
+            predicates[i] = builder.like(text, "%" + JsonLiterals.quote(value) + "%");
+        }
+        return builder.or(predicates);
+    }
+
+    private String lastProperty(List<String> jsonPath) {
+        return jsonPath.isEmpty() ? "" : jsonPath.get(jsonPath.size() - 1);
+    }
+}
@@ -0,0 +1,100 @@
+package pro.komdosh.searchablerestentity.search;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+/**
+ * Builds json literals for criteria values, shared by {@link JsonOperationStrategy} implementations.
+ */
+final class JsonLiterals {
+
+    private JsonLiterals() {
+    }
+
+    /**
+     * Renders value as json scalar: numbers and booleans as is, anything else as escaped string.
+     */
+    @Nonnull
+    static String scalar(@Nonnull Object value) {
+        if (value instanceof Number || value instanceof Boolean) {
+            return value.toString();
+        }
+        return quote(value.toString());
+    }
+
+    /**
+     * Wraps value into objects along the path, i.e. path ["a", "b"] and value "c" gives {"a":{"b":"c"}}.
+     */
+    @Nonnull
+    static String nested(@Nonnull List<String> path, @Nonnull String jsonValue) {
+        final StringBuilder json = new StringBuilder();
+        for (String property : path) {
+            json.append('{').append(quote(property)).append(':');
+        }
+        json.append(jsonValue);
+        for (int i = 0; i < path.size(); i++) {
+            json.append('}');
+        }
+        return json.toString();
+    }
+
+    /**
+     * Renders mysql json path expression, i.e. ["a", "b c"] gives $.a."b c".
+     * Plain identifiers stay unquoted to match path written in index definitions.
+     */
+    @Nonnull
+    static String mySqlPath(@Nonnull List<String> path) {
+        final StringBuilder jsonPath = new StringBuilder("$");
+        for (String property : path) {
+            jsonPath.append('.').append(property.matches("[A-Za-z_$][A-Za-z0-9_$]*") ? property : quote(property));
+        }
+        return jsonPath.toString();
+    }
+
+    /**
+     * Renders postgresql text array path, i.e. ["a", "b"] gives {"a","b"}.
+     */
+    @Nonnull
+    static String postgreSqlPath(@Nonnull List<String> path) {
+        final StringBuilder jsonPath = new StringBuilder("{");
+        for (int i = 0; i < path.size(); i++) {
+            if (i > 0) {
+                jsonPath.append(',');
+            }
+            jsonPath.append(quote(path.get(i)));
+        }
+        return jsonPath.append('}').toString();
+    }
+
+    @Nonnull
+    static String quote(@Nonnull String value) {
+        final StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    quoted.append("\\\"");
+                    break;
+                case '\\':
+                    quoted.append("\\\\");
+                    break;
+                case '\n':
+                    quoted.append("\\n");
+                    break;
+                case '\r':
+                    quoted.append("\\r");
+                    break;
+                case '\t':
+                    quoted.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
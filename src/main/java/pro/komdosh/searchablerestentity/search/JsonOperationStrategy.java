@@ -0,0 +1,62 @@
+package pro.komdosh.searchablerestentity.search;
+
+import javax.annotation.Nonnull;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Renders JSON search operations ({@link SearchOperation#JSON_LIKE}, {@link SearchOperation#JSON_CONTAINS}
+ * and {@link SearchOperation#JSON_ARRAY_CONTAINS_ANY_IGNORE_CASE}) for a particular database dialect.
+ * <p>
+ * Implementations should produce predicates that leave the json column untouched on the left side
+ * of the comparison, so that a json or functional index can be used instead of a full table scan.
+ * <p>
+ * Json path is given as a list of property names, i.e. key <i>"details->address.city"</i>
+ * is passed as <i>["address", "city"]</i>.
+ */
+public interface JsonOperationStrategy {
+
+    /**
+     * Matches json documents whose value at the given path contains the given substring ignoring case.
+     */
+    @Nonnull
+    Predicate like(@Nonnull CriteriaBuilder builder, @Nonnull Expression<?> column,
+                   @Nonnull List<String> jsonPath, @Nonnull String value);
+
+    /**
+     * Matches json documents whose value at the given path equals, or is an array containing, the given value.
+     */
+    @Nonnull
+    Predicate contains(@Nonnull CriteriaBuilder builder, @Nonnull Expression<?> column,
+                       @Nonnull List<String> jsonPath, @Nonnull Object value);
+
+    /**
+     * Matches json arrays that contain any of the given values ignoring case.
+     */
+    @Nonnull
+    Predicate arrayContainsAnyIgnoreCase(@Nonnull CriteriaBuilder builder, @Nonnull Expression<?> column,
+                                         @Nonnull List<?> values);
+
+    /**
+     * Picks strategy by hibernate dialect or database name,
+     * i.e. <i>org.hibernate.dialect.PostgreSQL10Dialect</i> or <i>postgresql</i>.
+     * MySQL strategy is used when the dialect is unknown.
+     *
+     * @param dialect dialect class name or database name
+     * @return strategy for the dialect
+     */
+    @Nonnull
+    static JsonOperationStrategy forDialect(String dialect) {
+        final String name = dialect == null ? "" : dialect.toLowerCase(Locale.ROOT);
+        if (name.contains("postgres")) {
+            return new PostgreSqlJsonOperationStrategy();
+        }
+        if (name.contains("h2")) {
+            return new H2JsonOperationStrategy();
+        }
+        return new MySqlJsonOperationStrategy();
+    }
+}
@@ -0,0 +1,72 @@
+package pro.komdosh.searchablerestentity.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * Picks {@link JsonOperationStrategy} for the application database, unless the strategy bean is declared.
+ * <p>
+ * Dialect is taken from <i>spring.jpa.database-platform</i> or <i>spring.jpa.properties.hibernate.dialect</i>,
+ * and from the database product name of the data source when none of them is set.
+ * <p>
+ * PostgreSQL strategy gets {@link PostgreSqlJsonFunctionsContributor} registered as
+ * <i>hibernate.metadata_builder_contributor</i>, unless another contributor is set.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+public class JsonOperationStrategyAutoConfiguration {
+
+    private static final String METADATA_BUILDER_CONTRIBUTOR = "hibernate.metadata_builder_contributor";
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JsonOperationStrategy jsonOperationStrategy(Environment environment, ObjectProvider<DataSource> dataSource) {
+        String dialect = environment.getProperty("spring.jpa.database-platform",
+            environment.getProperty("spring.jpa.properties.hibernate.dialect"));
+        if (StringUtils.isBlank(dialect)) {
+            dialect = getDatabaseProductName(dataSource.getIfUnique());
+        }
+        final JsonOperationStrategy strategy = JsonOperationStrategy.forDialect(dialect);
+        log.debug("Json search operations are rendered by {} for {}", strategy.getClass().getSimpleName(), dialect);
+        return strategy;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer postgreSqlJsonFunctionsCustomizer(ObjectProvider<JsonOperationStrategy> strategy) {
+        return properties -> {
+            if (!(strategy.getIfUnique() instanceof PostgreSqlJsonOperationStrategy)) {
+                return;
+            }
+            final Object contributor = properties.putIfAbsent(METADATA_BUILDER_CONTRIBUTOR,
+                PostgreSqlJsonFunctionsContributor.class.getName());
+            if (contributor != null && !PostgreSqlJsonFunctionsContributor.class.getName().equals(contributor)
+                && !(contributor instanceof PostgreSqlJsonFunctionsContributor)) {
+                log.warn("{} is set to {}, json search needs functions of {} registered by it",
+                    METADATA_BUILDER_CONTRIBUTOR, contributor, PostgreSqlJsonFunctionsContributor.class.getName());
+            }
+        };
+    }
+
+    private String getDatabaseProductName(DataSource dataSource) {
+        if (dataSource == null) {
+            return null;
+        }
+        try {
+            return JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        } catch (MetaDataAccessException e) {
+            log.warn("Could not detect database for json search operations: {}", e.getMessage());
+            return null;
+        }
+    }
+}
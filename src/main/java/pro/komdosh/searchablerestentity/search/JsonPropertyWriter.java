@@ -0,0 +1,45 @@
+package pro.komdosh.searchablerestentity.search;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.impl.PropertySerializerMap;
+
+import java.io.IOException;
+
+/**
+ * Writes a single dto property of non trivial type for generated json writer.
+ * <p>
+ * Serializers are resolved with the property context, so property and type level settings
+ * like <i>@JsonFormat</i> are kept, and cached per runtime class of the value as Jackson bean serializer does.
+ */
+public final class JsonPropertyWriter {
+
+    private final BeanProperty property;
+    private final SerializedString name;
+    private PropertySerializerMap serializers = PropertySerializerMap.emptyForProperties();
+
+    JsonPropertyWriter(BeanProperty property) {
+        this.property = property;
+        this.name = new SerializedString(property.getName());
+    }
+
+    public void write(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            provider.findNullValueSerializer(property).serialize(null, gen, provider);
+            return;
+        }
+        final Class<?> valueClass = value.getClass();
+        JsonSerializer<Object> serializer = serializers.serializerFor(valueClass);
+        if (serializer == null) {
+            final PropertySerializerMap.SerializerAndMapResult result =
+                serializers.findAndAddSecondarySerializer(valueClass, provider, property);
+            serializers = result.map;
+            serializer = result.serializer;
+        }
+        serializer.serialize(value, gen, provider);
+    }
+}
@@ -0,0 +1,20 @@
+package pro.komdosh.searchablerestentity.search;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.stream.Collectors;
+
+/**
+ * Registers {@link JsonWriterModule} with generated json writers,
+ * Spring Boot adds it to the auto-configured object mapper.
+ */
+@Configuration(proxyBeanMethods = false)
+public class JsonWriterAutoConfiguration {
+
+    @Bean
+    public JsonWriterModule searchableRestEntityJsonWriterModule(ObjectProvider<DtoJsonWriter<?>> writers) {
+        return new JsonWriterModule(writers.orderedStream().collect(Collectors.toList()));
+    }
+}
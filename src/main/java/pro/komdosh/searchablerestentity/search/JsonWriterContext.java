@@ -0,0 +1,90 @@
+package pro.komdosh.searchablerestentity.search;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializer;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.std.BooleanSerializer;
+import com.fasterxml.jackson.databind.ser.std.NumberSerializer;
+import com.fasterxml.jackson.databind.ser.std.NumberSerializers;
+import com.fasterxml.jackson.databind.ser.std.StringSerializer;
+
+import java.util.*;
+
+/**
+ * Bean serializer built by the object mapper for dto, which generated json writer is checked against.
+ * <p>
+ * Generated writer writes every property under its default name, including nulls.
+ * It replaces the bean serializer only when the bean serializer writes the same properties the same way,
+ * so naming strategy, property inclusion, mix-ins and serializer modifiers of other modules keep the Jackson output.
+ */
+public final class JsonWriterContext {
+
+    private final JsonSerializer<?> beanSerializer;
+    private final Map<String, BeanPropertyWriter> properties = new HashMap<>();
+    private final boolean supported;
+
+    JsonWriterContext(JsonSerializer<?> beanSerializer, String[] generatedProperties) {
+        this.beanSerializer = beanSerializer;
+        this.supported = collectProperties()
+            && properties.keySet().equals(new HashSet<>(Arrays.asList(generatedProperties)));
+    }
+
+    private boolean collectProperties() {
+        if (beanSerializer.getClass() != BeanSerializer.class || ((BeanSerializer) beanSerializer).usesObjectId()) {
+            return false;
+        }
+        final Iterator<PropertyWriter> writers = beanSerializer.properties();
+        while (writers.hasNext()) {
+            final PropertyWriter writer = writers.next();
+            if (writer.getClass() != BeanPropertyWriter.class) {
+                return false;
+            }
+            final BeanPropertyWriter beanPropertyWriter = (BeanPropertyWriter) writer;
+            if (beanPropertyWriter.willSuppressNulls() || beanPropertyWriter.hasSerializer()
+                || beanPropertyWriter.hasNullSerializer() || beanPropertyWriter.getViews() != null) {
+                return false;
+            }
+            properties.put(beanPropertyWriter.getName(), beanPropertyWriter);
+        }
+        return true;
+    }
+
+    boolean isSupported() {
+        return supported;
+    }
+
+    /**
+     * Generated writer writes numbers, booleans and strings straight to the generator, so the object mapper
+     * must resolve standard serializers for them, and not i.e. ToStringSerializer for Long registered by a module.
+     */
+    boolean usesStandardScalarSerializers(SerializerProvider provider) throws JsonMappingException {
+        for (BeanPropertyWriter property : properties.values()) {
+            final Class<?> type = property.getType().getRawClass();
+            if (!type.isPrimitive() && type != String.class && type != Boolean.class && !Number.class.isAssignableFrom(type)) {
+                continue;
+            }
+            final JsonSerializer<?> serializer = provider.findValueSerializer(property.getType(), property);
+            if (!(serializer instanceof StringSerializer || serializer instanceof BooleanSerializer
+                || serializer instanceof NumberSerializer || serializer.getClass().getEnclosingClass() == NumberSerializers.class)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    JsonSerializer<Object> getBeanSerializer() {
+        return (JsonSerializer<Object>) beanSerializer;
+    }
+
+    public JsonPropertyWriter propertyWriter(String name) {
+        final BeanPropertyWriter property = properties.get(name);
+        if (property == null) {
+            throw new IllegalStateException(String.format("No property %s found in %s", name, beanSerializer.handledType()));
+        }
+        return new JsonPropertyWriter(property);
+    }
+}
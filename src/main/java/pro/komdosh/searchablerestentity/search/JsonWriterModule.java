@@ -0,0 +1,47 @@
+package pro.komdosh.searchablerestentity.search;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Puts generated json writers in place of bean serializers built by the object mapper for their dto,
+ * when the bean serializer writes the same properties, see {@link JsonWriterContext}.
+ */
+@Slf4j
+public class JsonWriterModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    public JsonWriterModule(List<DtoJsonWriter<?>> writers) {
+        super(JsonWriterModule.class.getSimpleName());
+        final Map<Class<?>, DtoJsonWriter<?>> writersByType = new HashMap<>();
+        for (DtoJsonWriter<?> writer : writers) {
+            writersByType.put(writer.handledType(), writer);
+        }
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc,
+                                                      JsonSerializer<?> serializer) {
+                final DtoJsonWriter<?> writer = writersByType.get(beanDesc.getBeanClass());
+                if (writer == null) {
+                    return serializer;
+                }
+                final JsonWriterContext context = new JsonWriterContext(serializer, writer.getProperties());
+                if (!context.isSupported()) {
+                    log.debug("{} is written by {}, object mapper changes its properties",
+                        beanDesc.getBeanClass().getSimpleName(), serializer.getClass().getSimpleName());
+                    return serializer;
+                }
+                return writer.bind(context);
+            }
+        });
+    }
+}
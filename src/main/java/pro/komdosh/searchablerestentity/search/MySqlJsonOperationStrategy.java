@@ -0,0 +1,91 @@
+package pro.komdosh.searchablerestentity.search;
+
+import javax.annotation.Nonnull;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * MySQL 8.0.17+ strategy based on <i>json_overlaps</i>, which is served by multi-valued index:
+ * <p>
+ * <code>CREATE INDEX player_city ON player ((CAST(json_extract(details, '$.address.city') AS CHAR(255) ARRAY)));</code>
+ * <p>
+ * Multi-valued index keys are compared in binary collation, so case insensitive array search
+ * compares lower cased document with lower cased values and is served by index on the same expression:
+ * <p>
+ * <code>CREATE INDEX player_tags ON player ((CAST(json_extract(lower(tags), '$') AS CHAR(255) ARRAY)));</code>
+ * <p>
+ * Substring search is rendered as <i>lower(json_unquote(json_extract(...)))</i> with leading wildcard,
+ * so it could not use any index and stays a table scan.
+ */
+public class MySqlJsonOperationStrategy implements JsonOperationStrategy {
+
+    @Nonnull
+    @Override
+    public Predicate like(@Nonnull CriteriaBuilder builder, @Nonnull Expression<?> column,
+                          @Nonnull List<String> jsonPath, @Nonnull String value) {
+        return builder.like(
+            builder.lower(
+                builder.function(
+                    "json_unquote",
+                    String.class,
+                    extract(builder, column, jsonPath)
+                )
+            ),
+            "%" + value.toLowerCase(Locale.ROOT) + "%"
+        );
+    }
+
+    @Nonnull
+    @Override
+    public Predicate contains(@Nonnull CriteriaBuilder builder, @Nonnull Expression<?> column,
+                              @Nonnull List<String> jsonPath, @Nonnull Object value) {
+        return overlaps(builder, extract(builder, column, jsonPath), new Expression<?>[]{builder.literal(value)});
+    }
+
+    @Nonnull
+    @Override
+    public Predicate arrayContainsAnyIgnoreCase(@Nonnull CriteriaBuilder builder, @Nonnull Expression<?> column,
+                                                @Nonnull List<?> values) {
+        final Set<String> candidates = new LinkedHashSet<>();
+        for (Object value : values) {
+            candidates.add(String.valueOf(value).toLowerCase(Locale.ROOT));
+        }
+
+        final Expression<?>[] arrayItems = new Expression<?>[candidates.size()];
+        int i = 0;
+        for (String candidate : candidates) {
+            arrayItems[i++] = builder.literal(candidate);
+        }
+        final Expression<String> lowerCaseDocument = builder.function(
+            "json_extract",
+            String.class,
+            builder.function("lower", String.class, column),
+            builder.literal("$")
+        );
+        return overlaps(builder, lowerCaseDocument, arrayItems);
+    }
+
+    private Predicate overlaps(CriteriaBuilder builder, Expression<?> target, Expression<?>[] arrayItems) {
+        return builder.equal(
+            builder.function(
+                "json_overlaps",
+                Integer.class,
+                target,
+                builder.function("json_array", String.class, arrayItems)
+            ), 1);
+    }
+
+    private Expression<String> extract(CriteriaBuilder builder, Expression<?> column, List<String> jsonPath) {
+        return builder.function(
+            "json_extract",
+            String.class,
+            column,
+            builder.literal(JsonLiterals.mySqlPath(jsonPath))
+        );
+    }
+}
@@ -0,0 +1,31 @@
+package pro.komdosh.searchablerestentity.search;
+
+import org.hibernate.boot.MetadataBuilder;
+import org.hibernate.boot.spi.MetadataBuilderContributor;
+import org.hibernate.dialect.function.SQLFunctionTemplate;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers jsonb operators used by {@link PostgreSqlJsonOperationStrategy} as hibernate functions,
+ * since criteria API could not express operators directly.
+ * <p>
+ * Registered by {@link JsonOperationStrategyAutoConfiguration} when PostgreSQL strategy is used,
+ * applications that set their own contributor should delegate to it, or enable it with property:
+ * <code>spring.jpa.properties.hibernate.metadata_builder_contributor=pro.komdosh.searchablerestentity.search.PostgreSqlJsonFunctionsContributor</code>
+ */
+public class PostgreSqlJsonFunctionsContributor implements MetadataBuilderContributor {
+
+    static final String JSONB_CONTAINS = "sre_jsonb_contains";
+    static final String JSONB_CONTAINS_IGNORE_CASE = "sre_jsonb_contains_ignore_case";
+    static final String JSONB_TEXT_LOWER = "sre_jsonb_text_lower";
+
+    @Override
+    public void contribute(MetadataBuilder metadataBuilder) {
+        metadataBuilder.applySqlFunction(JSONB_CONTAINS,
+            new SQLFunctionTemplate(StandardBasicTypes.BOOLEAN, "(?1 @> cast(?2 as jsonb))"));
+        metadataBuilder.applySqlFunction(JSONB_CONTAINS_IGNORE_CASE,
+            new SQLFunctionTemplate(StandardBasicTypes.BOOLEAN, "(cast(lower(cast(?1 as text)) as jsonb) @> cast(?2 as jsonb))"));
+        metadataBuilder.applySqlFunction(JSONB_TEXT_LOWER,
+            new SQLFunctionTemplate(StandardBasicTypes.STRING, "lower(?1 #>> cast(?2 as text[]))"));
+    }
+}
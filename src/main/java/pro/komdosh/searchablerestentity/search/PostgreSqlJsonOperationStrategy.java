@@ -0,0 +1,93 @@
+package pro.komdosh.searchablerestentity.search;
+
+import javax.annotation.Nonnull;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * PostgreSQL jsonb strategy based on <i>@&gt;</i> containment operator, which is served by GIN index:
+ * <p>
+ * <code>CREATE INDEX ON player USING gin (details jsonb_path_ops);</code>
+ * <p>
+ * Case insensitive array search is served by expression index:
+ * <p>
+ * <code>CREATE INDEX ON player USING gin ((lower(tags::text)::jsonb) jsonb_path_ops);</code>
+ * <p>
+ * Substring search could not use GIN jsonb index, it is served by pg_trgm expression index per json path:
+ * <p>
+ * <code>CREATE INDEX ON player USING gin (lower(details #&gt;&gt; '{address,city}') gin_trgm_ops);</code>
+ * <p>
+ * Requires functions registered by {@link PostgreSqlJsonFunctionsContributor}.
+ */
+public class PostgreSqlJsonOperationStrategy implements JsonOperationStrategy {
+
+    @Nonnull
+    @Override
+    public Predicate like(@Nonnull CriteriaBuilder builder, @Nonnull Expression<?> column,
+                          @Nonnull List<String> jsonPath, @Nonnull String value) {
+        return builder.like(
+            builder.function(
+                PostgreSqlJsonFunctionsContributor.JSONB_TEXT_LOWER,
+                String.class,
+                column,
+                builder.literal(JsonLiterals.postgreSqlPath(jsonPath))
+            ),
+            "%" + value.toLowerCase(Locale.ROOT) + "%"
+        );
+    }
+
+    /**
+     * Jsonb lets array contain scalar only at the top level, so nested value is matched
+     * both as scalar and as single item array. Both forms are served by the same GIN index.
+     */
+    @Nonnull
+    @Override
+    public Predicate contains(@Nonnull CriteriaBuilder builder, @Nonnull Expression<?> column,
+                              @Nonnull List<String> jsonPath, @Nonnull Object value) {
+        final String jsonValue = JsonLiterals.scalar(value);
+        return builder.or(
+            containsJson(builder, column, JsonLiterals.nested(jsonPath, jsonValue)),
+            containsJson(builder, column, JsonLiterals.nested(jsonPath, "[" + jsonValue + "]"))
+        );
+    }
+
+    @Nonnull
+    @Override
+    public Predicate arrayContainsAnyIgnoreCase(@Nonnull CriteriaBuilder builder, @Nonnull Expression<?> column,
+                                                @Nonnull List<?> values) {
+        final Set<String> candidates = new LinkedHashSet<>();
+        for (Object value : values) {
+            candidates.add("[" + JsonLiterals.quote(String.valueOf(value).toLowerCase(Locale.ROOT)) + "]");
+        }
+
+        final Predicate[] predicates = new Predicate[candidates.size()];
+        int i = 0;
+        for (String candidate : candidates) {
+            predicates[i++] = builder.isTrue(
+                builder.function(
+                    PostgreSqlJsonFunctionsContributor.JSONB_CONTAINS_IGNORE_CASE,
+                    Boolean.class,
+                    column,
+                    builder.literal(candidate)
+                )
+            );
+        }
+        return builder.or(predicates);
+    }
+
+    private Predicate containsJson(CriteriaBuilder builder, Expression<?> column, String json) {
+        return builder.isTrue(
+            builder.function(
+                PostgreSqlJsonFunctionsContributor.JSONB_CONTAINS,
+                Boolean.class,
+                column,
+                builder.literal(json)
+            )
+        );
+    }
+}
@@ -3,10 +3,12 @@ package pro.komdosh.searchablerestentity.search;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ResponseStatusException;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Max;
@@ -18,6 +20,8 @@ import java.util.List;
  * Abstract API controller for search requests
  * <p>
  * make POST endpoint `/{entityName}/search` with payload as {@link List<SearchCriteria>}
+ * <p>
+ * criteria keys and sort properties outside of {@link SearchableFields} are rejected with 400 status
  *
  * @param <D> Dto, corresponding to the searched entity
  * @param <S> search service corresponding to the entity
@@ -30,8 +34,15 @@ public abstract class SearchController<D, S extends SearchService<?, D>> {
 
     private final S searchService;
 
+    private final SearchableFields searchableFields;
+
     public SearchController(S searchService) {
+        this(searchService, SearchableFields.all());
+    }
+
+    public SearchController(S searchService, SearchableFields searchableFields) {
         this.searchService = searchService;
+        this.searchableFields = searchableFields;
     }
 
     @PostMapping(value = "/search")
@@ -42,6 +53,11 @@ public abstract class SearchController<D, S extends SearchService<?, D>> {
                           @RequestParam(required = false, defaultValue = SIZE_DEFAULT)
                           @Positive @Max(MAX_PAGE_SIZE) int size,
                           Sort sort) {
+        try {
+            searchableFields.check(criteriaList, sort);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
 
         return searchService.findAll(criteriaList, PageRequest.of(page, size, sort));
     }
@@ -0,0 +1,22 @@
+package pro.komdosh.searchablerestentity.search;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Page of search results, serialized by {@link SearchPageSerializer} straight to json generator.
+ *
+ * @param <T> Dto, corresponding to the searched entity
+ */
+@JsonSerialize(using = SearchPageSerializer.class)
+public class SearchPage<T> extends PageImpl<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    public SearchPage(List<T> content, Pageable pageable, long total) {
+        super(content, pageable, total);
+    }
+}
@@ -0,0 +1,88 @@
+package pro.komdosh.searchablerestentity.search;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link SearchPage} in the same shape as Jackson writes {@link org.springframework.data.domain.PageImpl},
+ * without bean introspection of the page, pageable and sort.
+ * <p>
+ * Content items are written by contextual serializer cached by the object mapper per item class,
+ * that is generated <i>{entityName}DtoJsonWriter</i> for dto of searchable entity.
+ */
+public class SearchPageSerializer extends StdSerializer<SearchPage<?>> {
+
+    private static final long serialVersionUID = 1L;
+
+    public SearchPageSerializer() {
+        super(SearchPage.class, false);
+    }
+
+    @Override
+    public void serialize(SearchPage<?> page, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+
+        gen.writeFieldName("content");
+        gen.writeStartArray();
+        Class<?> itemClass = null;
+        JsonSerializer<Object> itemSerializer = null;
+        for (Object item : page.getContent()) {
+            if (item == null) {
+                gen.writeNull();
+                continue;
+            }
+            if (item.getClass() != itemClass) {
+                itemClass = item.getClass();
+                itemSerializer = provider.findTypedValueSerializer(itemClass, true, null);
+            }
+            itemSerializer.serialize(item, gen, provider);
+        }
+        gen.writeEndArray();
+
+        gen.writeFieldName("pageable");
+        writePageable(page.getPageable(), gen);
+        gen.writeBooleanField("last", page.isLast());
+        gen.writeNumberField("totalPages", page.getTotalPages());
+        gen.writeNumberField("totalElements", page.getTotalElements());
+        gen.writeNumberField("size", page.getSize());
+        gen.writeNumberField("number", page.getNumber());
+        gen.writeFieldName("sort");
+        writeSort(page.getSort(), gen);
+        gen.writeBooleanField("first", page.isFirst());
+        gen.writeNumberField("numberOfElements", page.getNumberOfElements());
+        gen.writeBooleanField("empty", page.isEmpty());
+
+        gen.writeEndObject();
+    }
+
+    private void writePageable(Pageable pageable, JsonGenerator gen) throws IOException {
+        if (pageable.isUnpaged()) {
+            // Jackson writes Unpaged enum by its name
+            gen.writeString("INSTANCE");
+            return;
+        }
+        gen.writeStartObject();
+        gen.writeFieldName("sort");
+        writeSort(pageable.getSort(), gen);
+        gen.writeNumberField("offset", pageable.getOffset());
+        gen.writeNumberField("pageNumber", pageable.getPageNumber());
+        gen.writeNumberField("pageSize", pageable.getPageSize());
+        gen.writeBooleanField("paged", true);
+        gen.writeBooleanField("unpaged", false);
+        gen.writeEndObject();
+    }
+
+    private void writeSort(Sort sort, JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        gen.writeBooleanField("sorted", sort.isSorted());
+        gen.writeBooleanField("unsorted", sort.isUnsorted());
+        gen.writeBooleanField("empty", sort.isEmpty());
+        gen.writeEndObject();
+    }
+}
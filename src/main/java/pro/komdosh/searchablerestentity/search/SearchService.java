@@ -1,10 +1,19 @@
 package pro.komdosh.searchablerestentity.search;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.GenericTypeResolver;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -15,19 +24,86 @@ import java.util.List;
  */
 public abstract class SearchService<E, D> {
 
+    private JsonOperationStrategy jsonOperationStrategy = new MySqlJsonOperationStrategy();
+
+    /**
+     * Json operations are rendered for MySQL unless {@link JsonOperationStrategy} bean is present,
+     * which is registered for the application database by {@link JsonOperationStrategyAutoConfiguration}.
+     */
+    @Autowired(required = false)
+    public void setJsonOperationStrategy(JsonOperationStrategy jsonOperationStrategy) {
+        this.jsonOperationStrategy = jsonOperationStrategy;
+    }
+
     protected abstract JpaSpecificationExecutor<E> getSearchRepository();
 
     protected abstract D entityToDto(E entity);
 
     protected abstract List<SearchCriteria> addRestrictions(List<SearchCriteria> criteriaList, Pageable pageable) throws NoSearchResultException;
 
+    /**
+     * @return entity name to match warmup criteria recorded in file, see {@link SearchWarmup}
+     */
+    protected String getEntityName() {
+        return getClass().getSimpleName().replace("Service", "");
+    }
+
+    /**
+     * @return search request bodies replayed by {@link SearchWarmup} at application startup
+     */
+    protected List<String> getWarmupCriteria() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * @return searched entity class, resolved from the type argument of the service
+     */
+    @SuppressWarnings("unchecked")
+    protected Class<E> getEntityClass() {
+        final Class<?>[] typeArguments = GenericTypeResolver.resolveTypeArguments(getClass(), SearchService.class);
+        if (typeArguments == null || typeArguments[0] == null) {
+            throw new IllegalStateException("Could not resolve entity class of " + getClass().getName());
+        }
+        return (Class<E>) typeArguments[0];
+    }
+
     protected Page<D> findAll(List<SearchCriteria> criteria, Pageable pageable) {
-        Specification<E> specification = new SearchSpecificationsBuilder<E>()
-            .withAll(criteria)
-            .build();
+        final Specification<E> specification = buildSpecification(criteria);
 
         final Page<E> entities = getSearchRepository().findAll(specification, pageable);
 
-        return entities.map(this::entityToDto);
+        final List<D> dtos = new ArrayList<>(entities.getNumberOfElements());
+        for (E entity : entities.getContent()) {
+            dtos.add(entityToDto(entity));
+        }
+        return new SearchPage<>(dtos, entities.getPageable(), entities.getTotalElements());
+    }
+
+    /**
+     * Runs search query limited to a single row, without count query, and maps the found entity to dto.
+     * Used by {@link SearchWarmup} to warm query plans without scanning the table for count.
+     */
+    protected void warmUp(EntityManager entityManager, List<SearchCriteria> criteria) {
+        final Class<E> entityClass = getEntityClass();
+        final CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<E> query = builder.createQuery(entityClass);
+        final Root<E> root = query.from(entityClass);
+        final Specification<E> specification = buildSpecification(criteria);
+        final Predicate predicate = specification == null ? null : specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root);
+
+        for (E entity : entityManager.createQuery(query).setMaxResults(1).getResultList()) {
+            entityToDto(entity);
+        }
+    }
+
+    private Specification<E> buildSpecification(List<SearchCriteria> criteria) {
+        return new SearchSpecificationsBuilder<E>()
+            .withJsonOperationStrategy(jsonOperationStrategy)
+            .withAll(criteria)
+            .build();
     }
 }
@@ -23,6 +23,11 @@ public class SearchSpecification<T> implements Specification<T> {
 
     private final static String ONLY_STRINGS_ERROR = "Operation %s is applicable only for strings";
     private final transient SearchCriteria criteria;
+    private final transient JsonOperationStrategy jsonOperationStrategy;
+
+    public SearchSpecification(SearchCriteria criteria) {
+        this(criteria, new MySqlJsonOperationStrategy());
+    }
 
     /**
      * Splits the criteria key by dots and joins the internal entities if needed.
@@ -216,23 +221,10 @@ public class SearchSpecification<T> implements Specification<T> {
                         SearchOperation.JSON_LIKE);
                     throw new IllegalStateException(message);
                 }
-
-                String jsonPath;
-                int jsonColumnPropertySeparatorIndex = criteria.getKey().indexOf(ENTITY_JSON_FIELD_DELIMITER);
-
-                jsonPath = "$." + criteria.getKey().substring(jsonColumnPropertySeparatorIndex + ENTITY_JSON_FIELD_DELIMITER.length());
-
-                return builder.function(
-                    "jsonSearchIgnoreCase",
-                    String.class,
-                    computeFieldPath(root),
-                    builder.literal("%" + criteriaValue + "%"),
-                    builder.literal(jsonPath)
-                )
-                    .isNotNull();
+                return jsonOperationStrategy.like(builder, computeFieldPath(root), getJsonPath(), (String) criteriaValue);
 
             case JSON_CONTAINS:
-                return getJsonContainsPredicate(root, builder);
+                return jsonOperationStrategy.contains(builder, computeFieldPath(root), getJsonPath(), criteriaValue);
 
             case JSON_ARRAY_CONTAINS_ANY_IGNORE_CASE:
                 return getJsonArrayContainsAnyPredicate(root, builder);
@@ -241,25 +233,6 @@ public class SearchSpecification<T> implements Specification<T> {
         }
     }
 
-    @Nonnull
-    private Predicate getJsonContainsPredicate(@NotNull Root<T> root, @NotNull CriteriaBuilder builder) {
-        String jsonPath;
-        int jsonColumnPropertySeparatorIndex = criteria.getKey().indexOf(ENTITY_JSON_FIELD_DELIMITER);
-
-        int arrowLastCharPosition = jsonColumnPropertySeparatorIndex
-            + ENTITY_JSON_FIELD_DELIMITER.length();
-        jsonPath = "$." + criteria.getKey().substring(arrowLastCharPosition);
-
-        return builder.function(
-            "json_contains",
-            Integer.class,
-            computeFieldPath(root),
-            builder.literal("\"" + criteria.getValue() + "\""),
-            builder.literal(jsonPath)
-        )
-            .isNotNull();
-    }
-
     @Nonnull
     private Predicate getJsonArrayContainsAnyPredicate(@NotNull Root<T> root,
                                                        @NotNull CriteriaBuilder builder) {
@@ -271,36 +244,25 @@ public class SearchSpecification<T> implements Specification<T> {
 
         final List<?> listValue = (List<?>) criteria.getValue();
 
-        if (listValue == null) {
-            throw new IllegalStateException("Provided List must not be null");
+        if (listValue.isEmpty()) {
+            return builder.disjunction();
         }
 
-        Predicate[] predicates = new Predicate[listValue.size()];
-        final Iterator<?> valuesIterator = listValue.iterator();
-        for (int i = 0; i < listValue.size(); i++) {
-            final Object value = valuesIterator.next();
-            predicates[i] = createPredicateForJsonContains(builder, root, value);
-        }
-        return builder.or(predicates);
+        return jsonOperationStrategy.arrayContainsAnyIgnoreCase(builder, computeFieldPath(root), listValue);
     }
 
-    private Predicate createPredicateForJsonContains(CriteriaBuilder builder, Root<T> root, Object value) {
-        return builder.equal(
-            builder.function(
-                "json_contains",
-                Integer.class,
-                builder.function(
-                    "lower",
-                    String.class,
-                    computeFieldPath(root)
-                ),
-                builder.function(
-                    "lower",
-                    String.class,
-                    builder.literal("\"" + value + "\"")
-                ),
-                builder.literal("$")
-            ), 1);
+    /**
+     * Splits json part of the key, i.e. "details->address.city" gives ["address", "city"].
+     */
+    @Nonnull
+    private List<String> getJsonPath() {
+        final String key = criteria.getKey();
+        final int jsonColumnPropertySeparatorIndex = key.indexOf(ENTITY_JSON_FIELD_DELIMITER);
+        if (jsonColumnPropertySeparatorIndex < 0) {
+            return Collections.emptyList();
+        }
+        final String jsonPath = key.substring(jsonColumnPropertySeparatorIndex + ENTITY_JSON_FIELD_DELIMITER.length());
+        return Arrays.asList(StringUtils.split(jsonPath, '.'));
     }
 
     protected Object correctValueAccordingType(@Nonnull Root<T> root) {
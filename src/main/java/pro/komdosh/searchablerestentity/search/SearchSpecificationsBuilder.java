@@ -17,10 +17,17 @@ class SearchSpecificationsBuilder<E> {
 
     private final List<SearchCriteria> params;
 
+    private JsonOperationStrategy jsonOperationStrategy = new MySqlJsonOperationStrategy();
+
     SearchSpecificationsBuilder() {
         params = new ArrayList<>();
     }
 
+    SearchSpecificationsBuilder<E> withJsonOperationStrategy(@NonNull JsonOperationStrategy jsonOperationStrategy) {
+        this.jsonOperationStrategy = jsonOperationStrategy;
+        return this;
+    }
+
     SearchSpecificationsBuilder<E> withAll(@NonNull List<SearchCriteria> criteriaList) {
         params.addAll(criteriaList);
         return this;
@@ -47,7 +54,7 @@ class SearchSpecificationsBuilder<E> {
         SpecificationHolder sh = new SpecificationHolder();
 
         criteriaList.forEach(a -> {
-            Specification<E> spec = new SearchSpecification<>(a);
+            Specification<E> spec = new SearchSpecification<>(a, jsonOperationStrategy);
 
             if (a.getAnd() != null) {
                 spec = spec.and(compose(a.getAnd(), (specHolder, sc) -> specHolder.specification.and(sc)));
@@ -0,0 +1,130 @@
+package pro.komdosh.searchablerestentity.search;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Replays representative search requests against real repositories at application startup,
+ * so that query plans, criteria compilation, JIT and statement caches are warm before the first request.
+ * <p>
+ * Runs as {@link ApplicationRunner}, so readiness state is switched to accepting traffic only after it completes.
+ * Requests are taken from {@link pro.komdosh.searchablerestentity.SearchableRestEntity#warmupCriteria()}
+ * and from optional file with json lines <i>{"entity": "Player", "criteria": [...]}</i>.
+ * Every request is executed as search query limited to a single row, without count query.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SearchWarmup implements ApplicationRunner {
+
+    private static final TypeReference<List<SearchCriteria>> CRITERIA_LIST = new TypeReference<List<SearchCriteria>>() {
+    };
+
+    private final List<SearchService<?, ?>> searchServices;
+    private final ObjectMapper objectMapper;
+    private final ResourceLoader resourceLoader;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final String file;
+    private final int iterations;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (entityManager == null) {
+            log.warn("Search warmup is skipped, no entity manager found");
+            return;
+        }
+        final Map<String, List<String>> recordedCriteria = readFile();
+        final TransactionTemplate transactionTemplate = createTransactionTemplate();
+
+        final long start = System.nanoTime();
+        int replayed = 0;
+        for (SearchService<?, ?> searchService : searchServices) {
+            final List<String> criteriaList = new ArrayList<>(searchService.getWarmupCriteria());
+            criteriaList.addAll(recordedCriteria.getOrDefault(searchService.getEntityName(), Collections.emptyList()));
+            for (String criteria : criteriaList) {
+                if (replay(searchService, criteria, transactionTemplate)) {
+                    replayed++;
+                }
+            }
+        }
+        log.info("Search warmup replayed {} requests {} times in {} ms",
+            replayed, iterations, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private boolean replay(SearchService<?, ?> searchService, String criteria, TransactionTemplate transactionTemplate) {
+        try {
+            final List<SearchCriteria> criteriaList = objectMapper.readValue(criteria, CRITERIA_LIST);
+            for (int i = 0; i < iterations; i++) {
+                if (transactionTemplate == null) {
+                    searchService.warmUp(entityManager, criteriaList);
+                } else {
+                    transactionTemplate.executeWithoutResult(status -> searchService.warmUp(entityManager, criteriaList));
+                }
+            }
+            return true;
+        } catch (Exception e) {
+            log.warn("Search warmup for {} failed on {}: {}", searchService.getEntityName(), criteria, e.getMessage());
+            return false;
+        }
+    }
+
+    private TransactionTemplate createTransactionTemplate() {
+        if (transactionManager == null) {
+            return null;
+        }
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate;
+    }
+
+    private Map<String, List<String>> readFile() throws IOException {
+        if (StringUtils.isBlank(file)) {
+            return Collections.emptyMap();
+        }
+        final Resource resource = resourceLoader.getResource(file);
+        if (!resource.exists()) {
+            log.warn("Search warmup file {} does not exist", file);
+            return Collections.emptyMap();
+        }
+
+        final Map<String, List<String>> recordedCriteria = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (StringUtils.isBlank(line)) {
+                    continue;
+                }
+                final JsonNode record;
+                try {
+                    record = objectMapper.readTree(line);
+                } catch (JsonProcessingException e) {
+                    log.warn("Search warmup file {} line {} is skipped: {}", file, lineNumber, e.getOriginalMessage());
+                    continue;
+                }
+                recordedCriteria.computeIfAbsent(record.path("entity").asText(), entity -> new ArrayList<>())
+                    .add(record.path("criteria").toString());
+            }
+        }
+        return recordedCriteria;
+    }
+}
@@ -0,0 +1,51 @@
+package pro.komdosh.searchablerestentity.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Registers {@link SearchWarmup} for generated search services.
+ * <p>
+ * Properties:
+ * <ul>
+ * <li><i>searchable-rest-entity.warmup.enabled</i> - set to false to skip warmup, default true</li>
+ * <li><i>searchable-rest-entity.warmup.file</i> - resource location of recorded requests, i.e. classpath:warmup.jsonl</li>
+ * <li><i>searchable-rest-entity.warmup.iterations</i> - how many times every request is replayed, default 10</li>
+ * </ul>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "searchable-rest-entity.warmup.enabled", matchIfMissing = true)
+public class SearchWarmupAutoConfiguration {
+
+    @Bean
+    public SearchWarmup searchWarmup(ObjectProvider<SearchService<?, ?>> searchServices,
+                                     ObjectProvider<ObjectMapper> objectMapper,
+                                     ResourceLoader resourceLoader,
+                                     ObjectProvider<EntityManagerFactory> entityManagerFactory,
+                                     ObjectProvider<PlatformTransactionManager> transactionManager,
+                                     @Value("${searchable-rest-entity.warmup.file:}") String file,
+                                     @Value("${searchable-rest-entity.warmup.iterations:10}") int iterations) {
+        return new SearchWarmup(
+            searchServices.orderedStream().collect(Collectors.toList()),
+            objectMapper.getIfUnique(ObjectMapper::new),
+            resourceLoader,
+            Optional.ofNullable(entityManagerFactory.getIfUnique())
+                .map(SharedEntityManagerCreator::createSharedEntityManager)
+                .orElse(null),
+            transactionManager.getIfUnique(),
+            file,
+            iterations
+        );
+    }
+}
@@ -0,0 +1,102 @@
+package pro.komdosh.searchablerestentity.search;
+
+import lombok.NonNull;
+import org.springframework.data.domain.Sort;
+
+import java.util.*;
+
+import static pro.komdosh.searchablerestentity.search.SearchCriteria.ENTITY_JSON_FIELD_DELIMITER;
+
+/**
+ * Allow-list of criteria keys and sort properties, generated from
+ * {@link pro.komdosh.searchablerestentity.SearchableField} annotations.
+ * <p>
+ * Json keys `{field}->{path}` are matched by the field part.
+ */
+public class SearchableFields {
+
+    private static final SearchableFields ALL = new SearchableFields(false);
+
+    private final boolean restricted;
+    private final Map<String, Set<SearchOperation>> operations = new HashMap<>();
+    private final Set<String> sortable = new HashSet<>();
+
+    private SearchableFields(boolean restricted) {
+        this.restricted = restricted;
+    }
+
+    /**
+     * @return allow-list that permits any key and sort property
+     */
+    public static SearchableFields all() {
+        return ALL;
+    }
+
+    /**
+     * @return empty allow-list, fill it with {@link #with(String, boolean, SearchOperation...)}
+     */
+    public static SearchableFields restricted() {
+        return new SearchableFields(true);
+    }
+
+    /**
+     * @param key        criteria key
+     * @param sortable   key could be used as sort property
+     * @param operations allowed operations, all operations are allowed if empty
+     * @return this allow-list
+     */
+    public SearchableFields with(@NonNull String key, boolean sortable, SearchOperation... operations) {
+        final Set<SearchOperation> allowed = EnumSet.allOf(SearchOperation.class);
+        if (operations.length > 0) {
+            allowed.retainAll(Arrays.asList(operations));
+        }
+        this.operations.put(key, allowed);
+        if (sortable) {
+            this.sortable.add(key);
+        }
+        return this;
+    }
+
+    /**
+     * Checks criteria including nested `and`, `or` lists and sort properties.
+     *
+     * @throws IllegalArgumentException if any key, operation or sort property is not allowed
+     */
+    public void check(@NonNull List<SearchCriteria> criteriaList, Sort sort) {
+        if (!restricted) {
+            return;
+        }
+        checkCriteria(criteriaList);
+        if (sort != null) {
+            for (Sort.Order order : sort) {
+                if (!sortable.contains(order.getProperty())) {
+                    throw new IllegalArgumentException("Sort by " + order.getProperty() + " is not allowed");
+                }
+            }
+        }
+    }
+
+    private void checkCriteria(List<SearchCriteria> criteriaList) {
+        if (criteriaList == null) {
+            return;
+        }
+        for (SearchCriteria criteria : criteriaList) {
+            if (criteria == null || criteria.getKey() == null || criteria.getOperation() == null) {
+                throw new IllegalArgumentException("Search criteria must have key and operation");
+            }
+            final String key = criteria.getKey();
+            final int jsonColumnPropertySeparatorIndex = key.indexOf(ENTITY_JSON_FIELD_DELIMITER);
+            final String field = jsonColumnPropertySeparatorIndex < 0 ? key : key.substring(0, jsonColumnPropertySeparatorIndex);
+            final Set<SearchOperation> allowed = operations.get(field);
+            if (allowed == null) {
+                throw new IllegalArgumentException("Search by " + key + " is not allowed");
+            }
+            if (!allowed.contains(criteria.getOperation())) {
+                throw new IllegalArgumentException(String.format("Operation %s is not allowed for %s",
+                    criteria.getOperation(), key));
+            }
+            checkCriteria(criteria.getAnd());
+            checkCriteria(criteria.getOr());
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package pro.komdosh.searchablerestentity;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.*;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the processor over a synthetic module of many entities, reports processing time
+ * and checks the isolating contract: every generated file has exactly one originating element,
+ * the entity it is generated for.
+ */
+class SearchableRestEntityProcessorBenchmarkTest {
+
+    private static final int ENTITIES = 200;
+    private static final int FILES_PER_ENTITY = 6;
+    private static final String PACKAGE = "pro.komdosh.benchmark";
+
+    @TempDir
+    Path generated;
+
+    @Test
+    void generatesEveryFileFromSingleEntity() {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        final RecordingProcessor processor = new RecordingProcessor();
+        final JavaCompiler.CompilationTask task = compiler.getTask(
+            null,
+            compiler.getStandardFileManager(diagnostics, Locale.ROOT, null),
+            diagnostics,
+            Arrays.asList("-proc:only", "-s", generated.toString(), "-classpath", System.getProperty("java.class.path")),
+            null,
+            sources()
+        );
+        task.setProcessors(Collections.singletonList(processor));
+
+        final long start = System.nanoTime();
+        final boolean success = task.call();
+        final long total = System.nanoTime() - start;
+
+        assertTrue(success, () -> diagnostics.getDiagnostics().stream()
+            .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+            .map(Object::toString)
+            .reduce("", (left, right) -> left + System.lineSeparator() + right));
+        assertEquals(ENTITIES * FILES_PER_ENTITY, processor.originatingElements.size());
+        processor.originatingElements.forEach((name, elements) -> {
+            assertEquals(1, elements.length, () -> name + " must have exactly one originating element");
+            final String entity = ((TypeElement) elements[0]).getQualifiedName().toString();
+            assertTrue(name.startsWith(entity) && !Character.isDigit(name.charAt(entity.length())),
+                () -> name + " is attributed to " + entity);
+        });
+        System.out.printf("Processed %d entities: processor %d ms, compilation %d ms%n", ENTITIES,
+            TimeUnit.NANOSECONDS.toMillis(processor.processingNanos), TimeUnit.NANOSECONDS.toMillis(total));
+    }
+
+    private static List<JavaFileObject> sources() {
+        final List<JavaFileObject> sources = new ArrayList<>();
+        sources.add(source("BaseEntity",
+            "@javax.persistence.MappedSuperclass\n"
+                + "public abstract class BaseEntity {\n"
+                + "    @javax.persistence.Id\n"
+                + "    private Long id;\n"
+                + "    public Long getId() { return id; }\n"
+                + "}\n"));
+        for (int i = 0; i < ENTITIES; i++) {
+            final String name = "Player" + i;
+            sources.add(source(name,
+                "@javax.persistence.Entity\n"
+                    + "@javax.persistence.Table(indexes = @javax.persistence.Index(columnList = \"name\"))\n"
+                    + "@pro.komdosh.searchablerestentity.SearchableRestEntity(path = \"/" + name.toLowerCase(Locale.ROOT) + "\")\n"
+                    + "public class " + name + " extends BaseEntity {\n"
+                    + "    @pro.komdosh.searchablerestentity.SearchableField\n"
+                    + "    private String name;\n"
+                    + "    private boolean active;\n"
+                    + "    private java.time.LocalDate created;\n"
+                    + "    public String getName() { return name; }\n"
+                    + "    public boolean isActive() { return active; }\n"
+                    + "    public java.time.LocalDate getCreated() { return created; }\n"
+                    + "}\n"));
+        }
+        return sources;
+    }
+
+    private static JavaFileObject source(String name, String body) {
+        final String code = "package " + PACKAGE + ";\n\n" + body;
+        return new SimpleJavaFileObject(URI.create("string:///" + PACKAGE.replace('.', '/') + "/" + name + ".java"),
+            JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+
+    /**
+     * Records originating elements of every created source file and time spent in the processor.
+     */
+    private static class RecordingProcessor extends SearchableRestEntityProcessor {
+
+        private final Map<String, Element[]> originatingElements = new HashMap<>();
+        private long processingNanos;
+
+        @Override
+        public synchronized void init(ProcessingEnvironment processingEnv) {
+            final Filer filer = processingEnv.getFiler();
+            final Filer recordingFiler = proxy(Filer.class, (method, args) -> {
+                if ("createSourceFile".equals(method.getName())) {
+                    originatingElements.put(args[0].toString(), (Element[]) args[1]);
+                }
+                return method.invoke(filer, args);
+            });
+            super.init(proxy(ProcessingEnvironment.class, (method, args) ->
+                "getFiler".equals(method.getName()) ? recordingFiler : method.invoke(processingEnv, args)));
+        }
+
+        @Override
+        public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+            final long start = System.nanoTime();
+            try {
+                return super.process(annotations, roundEnv);
+            } finally {
+                processingNanos += System.nanoTime() - start;
+            }
+        }
+
+        private static <T> T proxy(Class<T> type, Delegate delegate) {
+            return type.cast(Proxy.newProxyInstance(RecordingProcessor.class.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                try {
+                    return delegate.invoke(method, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }));
+        }
+    }
+
+    @FunctionalInterface
+    private interface Delegate {
+        Object invoke(Method method, Object[] args) throws Exception;
+    }
+}
@@ -0,0 +1,53 @@
+package pro.komdosh.searchablerestentity.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JsonLiteralsTest {
+
+    @Test
+    void rendersScalars() {
+        assertEquals("42", JsonLiterals.scalar(42));
+        assertEquals("true", JsonLiterals.scalar(true));
+        assertEquals("\"42\"", JsonLiterals.scalar("42"));
+    }
+
+    @Test
+    void escapesQuotedValues() {
+        assertEquals("\"a\\\"b\\\\c\\n\\r\\t\\u0001\"", JsonLiterals.quote("a\"b\\c\n\r\t\u0001"));
+    }
+
+    @Test
+    void wrapsValueAlongPath() {
+        assertEquals("{\"address\":{\"city\":\"Moscow\"}}",
+            JsonLiterals.nested(Arrays.asList("address", "city"), JsonLiterals.scalar("Moscow")));
+        assertEquals("\"Moscow\"", JsonLiterals.nested(Collections.emptyList(), "\"Moscow\""));
+    }
+
+    @Test
+    void escapesPropertiesOfNestedValue() {
+        assertEquals("{\"a\\\"b\":[1]}", JsonLiterals.nested(Collections.singletonList("a\"b"), "[1]"));
+    }
+
+    @Test
+    void rendersMySqlPath() {
+        assertEquals("$", JsonLiterals.mySqlPath(Collections.emptyList()));
+        assertEquals("$.address.city", JsonLiterals.mySqlPath(Arrays.asList("address", "city")));
+    }
+
+    @Test
+    void quotesMySqlPathPropertiesThatAreNotIdentifiers() {
+        assertEquals("$.\"zip code\".\"1st\".\"a\\\"b\"", JsonLiterals.mySqlPath(Arrays.asList("zip code", "1st", "a\"b")));
+    }
+
+    @Test
+    void rendersPostgreSqlPath() {
+        assertEquals("{}", JsonLiterals.postgreSqlPath(Collections.emptyList()));
+        assertEquals("{\"address\",\"city\"}", JsonLiterals.postgreSqlPath(Arrays.asList("address", "city")));
+        assertEquals("{\"a,b\",\"c\\\"d\"}", JsonLiterals.postgreSqlPath(Arrays.asList("a,b", "c\"d")));
+    }
+}
@@ -0,0 +1,63 @@
+package pro.komdosh.searchablerestentity.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link SearchPageSerializer} must write the same json as Jackson writes for {@link PageImpl}.
+ */
+class SearchPageSerializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Item> content = Arrays.asList(new Item("first", 1), new Item("second", null));
+
+    @Test
+    void writesSortedPageAsPageImpl() throws Exception {
+        assertSameJson(PageRequest.of(1, 2, Sort.by("name")), 7);
+    }
+
+    @Test
+    void writesUnsortedPageAsPageImpl() throws Exception {
+        assertSameJson(PageRequest.of(0, 2), 2);
+    }
+
+    @Test
+    void writesUnpagedPageAsPageImpl() throws Exception {
+        assertSameJson(Pageable.unpaged(), 2);
+    }
+
+    private void assertSameJson(Pageable pageable, long total) throws Exception {
+        assertEquals(
+            objectMapper.readTree(objectMapper.writeValueAsString(new PageImpl<>(content, pageable, total))),
+            objectMapper.readTree(objectMapper.writeValueAsString(new SearchPage<>(content, pageable, total)))
+        );
+    }
+
+    public static class Item {
+
+        private final String name;
+        private final Integer rank;
+
+        Item(String name, Integer rank) {
+            this.name = name;
+            this.rank = rank;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Integer getRank() {
+            return rank;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package pro.komdosh.searchablerestentity.search;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SearchableFieldsTest {
+
+    private final SearchableFields searchableFields = SearchableFields.restricted()
+        .with("familyName", true, SearchOperation.EQUALS, SearchOperation.LIKE_START)
+        .with("playerScore.totalScore", false)
+        .with("details", false, SearchOperation.JSON_CONTAINS);
+
+    @Test
+    void allowsDeclaredKeysOperationsAndSort() {
+        assertDoesNotThrow(() -> searchableFields.check(
+            Arrays.asList(criteria("familyName", SearchOperation.LIKE_START), criteria("playerScore.totalScore", SearchOperation.GREATER)),
+            Sort.by("familyName")
+        ));
+    }
+
+    @Test
+    void rejectsUndeclaredKey() {
+        assertRejected(Collections.singletonList(criteria("password", SearchOperation.EQUALS)), Sort.unsorted());
+    }
+
+    @Test
+    void rejectsUndeclaredOperation() {
+        assertRejected(Collections.singletonList(criteria("familyName", SearchOperation.LIKE)), Sort.unsorted());
+    }
+
+    @Test
+    void rejectsSortByNotSortableKey() {
+        assertRejected(Collections.emptyList(), Sort.by("playerScore.totalScore"));
+        assertRejected(Collections.emptyList(), Sort.by("password"));
+    }
+
+    @Test
+    void checksNestedCriteria() {
+        final SearchCriteria allowed = criteria("familyName", SearchOperation.EQUALS);
+        final SearchCriteria rejected = criteria("password", SearchOperation.EQUALS);
+
+        assertDoesNotThrow(() -> searchableFields.check(Collections.singletonList(
+            nested(Collections.singletonList(allowed), Collections.singletonList(allowed))), null));
+        assertRejected(Collections.singletonList(nested(Collections.singletonList(rejected), null)), null);
+        assertRejected(Collections.singletonList(nested(null, Collections.singletonList(rejected))), null);
+    }
+
+    @Test
+    void rejectsCriteriaWithoutKeyOrOperation() {
+        assertRejected(Collections.singletonList(criteria(null, SearchOperation.EQUALS)), null);
+        assertRejected(Collections.singletonList(nested(Collections.singletonList(criteria("familyName", null)), null)), null);
+    }
+
+    @Test
+    void matchesJsonKeyByField() {
+        assertDoesNotThrow(() -> searchableFields.check(
+            Collections.singletonList(criteria("details->address.city", SearchOperation.JSON_CONTAINS)), null));
+        assertRejected(Collections.singletonList(criteria("details->address.city", SearchOperation.JSON_LIKE)), null);
+        assertRejected(Collections.singletonList(criteria("secret->address.city", SearchOperation.JSON_CONTAINS)), null);
+    }
+
+    @Test
+    void allowsAnythingWhenNotRestricted() {
+        assertDoesNotThrow(() -> SearchableFields.all().check(
+            Collections.singletonList(criteria("password", SearchOperation.LIKE)), Sort.by("password")));
+    }
+
+    private void assertRejected(List<SearchCriteria> criteriaList, Sort sort) {
+        assertThrows(IllegalArgumentException.class, () -> searchableFields.check(criteriaList, sort));
+    }
+
+    private static SearchCriteria criteria(String key, SearchOperation operation) {
+        return new SearchCriteria(null, null, key, operation, "value", null);
+    }
+
+    private static SearchCriteria nested(List<SearchCriteria> and, List<SearchCriteria> or) {
+        return new SearchCriteria(and, or, "familyName", SearchOperation.EQUALS, "value", null);
+    }
+}